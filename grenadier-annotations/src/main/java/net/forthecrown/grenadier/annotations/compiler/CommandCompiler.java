@@ -11,10 +11,10 @@ import java.lang.reflect.Modifier;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import net.forthecrown.grenadier.CommandSource;
-import net.forthecrown.grenadier.Completions;
 import net.forthecrown.grenadier.GrenadierCommand;
 import net.forthecrown.grenadier.GrenadierCommandNode;
 import net.forthecrown.grenadier.Nodes;
+import net.forthecrown.grenadier.SuggestionIndex;
 import net.forthecrown.grenadier.annotations.ArgumentModifier;
 import net.forthecrown.grenadier.annotations.CommandTransformer;
 import net.forthecrown.grenadier.annotations.TypeRegistry.TypeParser;
@@ -314,10 +314,10 @@ public class CommandCompiler implements TreeVisitor<Object, CompileContext> {
       StringListSuggestions tree,
       CompileContext context
   ) {
-    String[] suggestions = tree.suggestions();
+    SuggestionIndex index = SuggestionIndex.of(tree.suggestions());
 
     return Result.success((context1, builder) -> {
-      return Completions.suggest(builder, suggestions);
+      return index.suggest(builder);
     });
   }
 
@@ -0,0 +1,45 @@
+package net.forthecrown.grenadier;
+
+/**
+ * A command whose body runs on a virtual thread instead of the server thread.
+ * <p>
+ * Meant for commands that spend most of their time waiting on I/O, like
+ * database lookups or web requests. Bukkit API calls must be handed back to
+ * the server thread with {@link AsyncCommandContext#sync(java.util.concurrent.Callable)}.
+ * <p>
+ * Use example: <pre><code>
+ * command.executesAsync(context -> {
+ *   UUID playerId = context.getArgument("player", UUID.class);
+ *   Balance balance = database.loadBalance(playerId);
+ *
+ *   context.sync(() -> {
+ *     Player player = Bukkit.getPlayer(playerId);
+ *     // ...
+ *     return null;
+ *   });
+ *
+ *   context.sendMessage("Balance: " + balance);
+ * });
+ * </code></pre>
+ * <p>
+ * Any exception thrown by the command is reported on the server thread, syntax
+ * exceptions through {@link SyntaxExceptions#handle}, any other exception
+ * through the {@link CommandExceptionHandler}.
+ * <p>
+ * When the plugin Grenadier runs under is disabled, running async commands are
+ * interrupted, and any failures they throw afterwards are not reported.
+ *
+ * @see GrenadierCommand#executesAsync(AsyncCommand)
+ * @see Nodes#async(AsyncCommand)
+ */
+@FunctionalInterface
+public interface AsyncCommand {
+
+  /**
+   * Runs the command
+   *
+   * @param context Async command context
+   * @throws Exception If the command fails
+   */
+  void run(AsyncCommandContext context) throws Exception;
+}
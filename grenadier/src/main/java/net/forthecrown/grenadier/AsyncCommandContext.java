@@ -0,0 +1,86 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.context.CommandContext;
+import java.util.concurrent.Callable;
+import net.kyori.adventure.audience.ForwardingAudience;
+
+/**
+ * Context of an {@link AsyncCommand}.
+ * <p>
+ * Messages sent to this context are forwarded to the command's source.
+ *
+ * @see #getSource()
+ */
+public interface AsyncCommandContext extends ForwardingAudience.Single {
+
+  /**
+   * Gets the command's context.
+   * <p>
+   * The context's arguments were parsed on the server thread and may be read
+   * freely. The context's source however, should only be used on the server
+   * thread, use {@link #getSource()} instead.
+   *
+   * @return Command context
+   */
+  CommandContext<CommandSource> getContext();
+
+  /**
+   * Gets a snapshot of the command's source, taken on the server thread
+   * before the command started running
+   *
+   * @return Source snapshot
+   */
+  SourceSnapshot getSource();
+
+  /**
+   * Gets a parsed argument's value
+   *
+   * @param name Argument name
+   * @param type Argument type
+   * @return Argument value
+   * @param <V> Value type
+   *
+   * @throws IllegalArgumentException If no argument with the specified
+   *                                  {@code name} and {@code type} exists
+   *
+   * @see CommandContext#getArgument(String, Class)
+   */
+  default <V> V getArgument(String name, Class<V> type) {
+    return getContext().getArgument(name, type);
+  }
+
+  /**
+   * Runs a function on the server thread and waits for its result.
+   * <p>
+   * If called on the server thread, the function is called directly.
+   * <p>
+   * There's no time limit on the wait, async commands run on virtual
+   * threads, which can afford to wait for a busy server thread. If the
+   * plugin is disabled while waiting, the wait is interrupted, and the
+   * function won't be called if it hasn't started yet.
+   *
+   * @param callable Function to run
+   * @return Function result
+   * @param <T> Result type
+   *
+   * @throws Exception If the function throws an exception, or the calling
+   *                   thread was interrupted while waiting
+   */
+  <T> T sync(Callable<T> callable) throws Exception;
+
+  /**
+   * Runs a task on the server thread and waits for it to finish.
+   *
+   * @param runnable Task to run
+   * @throws Exception If the task throws an exception, or the calling thread
+   *                   was interrupted while waiting
+   *
+   * @see #sync(Callable)
+   */
+  default void syncRun(Runnable runnable) throws Exception {
+    sync(() -> {
+      runnable.run();
+      return null;
+    });
+  }
+}
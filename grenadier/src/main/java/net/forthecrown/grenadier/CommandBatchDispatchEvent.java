@@ -0,0 +1,67 @@
+package net.forthecrown.grenadier;
+
+import java.util.List;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called once before a batch of commands is executed with
+ * {@link Grenadier#dispatchAll(CommandSource, List)}.
+ * <p>
+ * Unlike {@link Grenadier#dispatch(CommandSource, String)}, batched commands
+ * don't call a {@link org.bukkit.event.server.ServerCommandEvent} for each
+ * command, this event is called for the whole batch instead.
+ */
+public class CommandBatchDispatchEvent extends Event implements Cancellable {
+
+  private static final HandlerList handlerList = new HandlerList();
+
+  private final CommandSource source;
+  private final List<String> commands;
+
+  private boolean cancelled;
+
+  public CommandBatchDispatchEvent(CommandSource source, List<String> commands) {
+    this.source = source;
+    this.commands = commands;
+  }
+
+  /**
+   * Gets the source executing the commands
+   * @return Executing source
+   */
+  public CommandSource getSource() {
+    return source;
+  }
+
+  /**
+   * Gets an immutable list of the commands that will be executed, in order
+   * of execution
+   *
+   * @return Batch commands
+   */
+  public List<String> getCommands() {
+    return commands;
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  @Override
+  public void setCancelled(boolean cancelled) {
+    this.cancelled = cancelled;
+  }
+
+  public static HandlerList getHandlerList() {
+    return handlerList;
+  }
+
+  @Override
+  public @NotNull HandlerList getHandlers() {
+    return handlerList;
+  }
+}
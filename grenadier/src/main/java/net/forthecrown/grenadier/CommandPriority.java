@@ -0,0 +1,26 @@
+package net.forthecrown.grenadier;
+
+/**
+ * Priority of an enqueued command.
+ * <p>
+ * Each tick, all queued commands of a higher priority are executed before
+ * any commands of a lower priority.
+ *
+ * @see Grenadier#enqueueCommand(CommandSource, String, CommandPriority)
+ */
+public enum CommandPriority {
+  /**
+   * Executed before all other commands
+   */
+  HIGH,
+
+  /**
+   * Default priority
+   */
+  NORMAL,
+
+  /**
+   * Executed only when no other commands are waiting
+   */
+  LOW;
+}
@@ -646,4 +646,15 @@ public interface CommandSource
    * @return {@code true}, if override enabled, {@code false} otherwise
    */
   boolean overrideSelectorPermissions();
-}
\ No newline at end of file
+
+  /**
+   * Creates an immutable snapshot of this source.
+   * <p>
+   * The snapshot must be created on the server thread, but can then be used on
+   * any thread, which makes it suitable for async suggestion and command code.
+   *
+   * @return Source snapshot
+   * @see AsyncCommandContext#getSource()
+   */
+  SourceSnapshot snapshot();
+}
@@ -0,0 +1,99 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.Iterator;
+import java.util.Objects;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Long-running command work that is performed in small steps, spread across
+ * multiple ticks.
+ * <p>
+ * Each tick, running tasks take turns calling {@link #step()} until the
+ * {@link GrenadierSettings#getTaskTickBudget()} runs out. A single step should
+ * therefore only perform a small unit of work, like scanning a single chunk.
+ *
+ * @see IncrementalCommand
+ * @see Grenadier#runTask(CommandSource, CommandTask)
+ */
+@FunctionalInterface
+public interface CommandTask {
+
+  /**
+   * Performs a single unit of work
+   *
+   * @return {@code true}, if there's more work to be done,
+   *         {@code false} if the task has finished
+   *
+   * @throws CommandSyntaxException If the task fails, the exception's message
+   *                                is sent to the task's source and the task
+   *                                is stopped
+   */
+  boolean step() throws CommandSyntaxException;
+
+  /**
+   * Gets a progress message that's sent to the task's source.
+   * <p>
+   * Called every {@link GrenadierSettings#getTaskProgressInterval()} ticks
+   * while the task is running.
+   *
+   * @return Progress message, or {@code null}, to not send any message
+   */
+  default @Nullable Component progress() {
+    return null;
+  }
+
+  /**
+   * Called when the task stops running
+   *
+   * @param source Source that started the task
+   * @param cancelled {@code true}, if the task was stopped because it was
+   *                  cancelled, {@code false} if it finished normally
+   *
+   * @throws CommandSyntaxException If the completion logic fails
+   */
+  default void onFinish(CommandSource source, boolean cancelled)
+      throws CommandSyntaxException
+  {
+
+  }
+
+  /**
+   * Creates a task that performs a single step for each element of an
+   * iterator
+   *
+   * @param iterator Iterator of work units
+   * @param action Action to perform on each unit
+   * @return Created task
+   * @param <T> Work unit type
+   */
+  static <T> CommandTask forEach(
+      @NotNull Iterator<? extends T> iterator,
+      @NotNull WorkUnit<T> action
+  ) {
+    Objects.requireNonNull(iterator, "Null iterator");
+    Objects.requireNonNull(action, "Null action");
+
+    return () -> {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+
+      action.run(iterator.next());
+      return iterator.hasNext();
+    };
+  }
+
+  /**
+   * A single unit of work of a task created with
+   * {@link #forEach(Iterator, WorkUnit)}
+   *
+   * @param <T> Work unit type
+   */
+  @FunctionalInterface
+  interface WorkUnit<T> {
+    void run(T value) throws CommandSyntaxException;
+  }
+}
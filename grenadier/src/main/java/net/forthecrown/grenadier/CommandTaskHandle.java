@@ -0,0 +1,54 @@
+package net.forthecrown.grenadier;
+
+/**
+ * Handle to a running {@link CommandTask}
+ *
+ * @see Grenadier#runTask(CommandSource, CommandTask)
+ * @see Grenadier#getRunningTasks()
+ */
+public interface CommandTaskHandle {
+
+  /**
+   * Gets the source that started the task
+   * @return Task source
+   */
+  CommandSource getSource();
+
+  /**
+   * Gets the task being run
+   * @return Task
+   */
+  CommandTask getTask();
+
+  /**
+   * Gets the amount of steps the task has performed
+   * @return Performed step count
+   */
+  long getSteps();
+
+  /**
+   * Tests if the task has stopped running, either because it finished, failed
+   * or was cancelled
+   *
+   * @return {@code true}, if the task is done, {@code false} otherwise
+   */
+  boolean isDone();
+
+  /**
+   * Tests if the task was cancelled
+   * @return {@code true}, if the task was cancelled, {@code false} otherwise
+   */
+  boolean isCancelled();
+
+  /**
+   * Cancels the task.
+   * <p>
+   * The task stops running before its next step and its
+   * {@link CommandTask#onFinish(CommandSource, boolean)} is called with
+   * {@code cancelled} set to {@code true}
+   *
+   * @return {@code true}, if the task was cancelled, {@code false}, if the
+   *         task was already done
+   */
+  boolean cancel();
+}
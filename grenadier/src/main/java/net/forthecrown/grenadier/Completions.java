@@ -25,12 +25,20 @@ import org.bukkit.scoreboard.Team;
  * @see #suggest(SuggestionsBuilder, Iterable)
  * @see #suggest(SuggestionsBuilder, Stream)
  * @see #suggest(SuggestionsBuilder, String...)
+ * @see SuggestionIndex Indexed suggestions for large, fixed sets of strings
  * @see #matches(String, String) Testing if command input matches a string
  * @see #matches(String, Key) Testing if a {@link Key} matches command input
  */
 public final class Completions {
   private Completions() {}
 
+  /* Fuzzy match scoring, see fuzzyScore */
+  private static final int FUZZY_PREFIX_BONUS = 100;
+  private static final int FUZZY_START_BONUS = 10;
+  private static final int FUZZY_BOUNDARY_BONUS = 8;
+  private static final int FUZZY_CONSECUTIVE_BONUS = 5;
+  private static final int FUZZY_MAX_GAP_PENALTY = 3;
+
   /**
    * Checks if the given string starts with the given token
    *
@@ -59,6 +67,193 @@ public final class Completions {
         || matches(input, key.asString());
   }
 
+  /**
+   * Gets how many more suggestions may be added to the specified builder.
+   * <p>
+   * If the builder was given to a provider created with
+   * {@link #limit(SuggestionProvider, int)}, this is the amount of
+   * suggestions left before that provider's limit is reached. Otherwise, it's
+   * the global limit, {@link GrenadierSettings#getMaxSuggestions()}.
+   * <p>
+   * Suggestion providers iterating over large sets of candidates can use this
+   * to stop early.
+   *
+   * @param builder Suggestions builder
+   * @return Amount of suggestions that may still be added,
+   *         {@link Integer#MAX_VALUE}, if there's no limit
+   */
+  public static int remainingSuggestions(SuggestionsBuilder builder) {
+    if (builder instanceof LimitedSuggestionsBuilder limited) {
+      return limited.remaining();
+    }
+
+    int max = Grenadier.settings().getMaxSuggestions();
+    return max <= 0 ? Integer.MAX_VALUE : max;
+  }
+
+  /**
+   * Limits the amount of suggestions a provider can make.
+   * <p>
+   * Suggestions made after the limit is reached are ignored, and the
+   * helper methods in this class stop testing candidates once the limit is
+   * reached.
+   * <p>
+   * The first suggestions made are kept, in the order the provider makes
+   * them, not the first after sorting. A provider suggesting from an
+   * unordered collection keeps an arbitrary subset of it.
+   *
+   * @param provider Provider to limit
+   * @param limit Max amount of suggestions
+   * @return Limited provider
+   * @param <S> Command source type
+   *
+   * @throws IllegalArgumentException If the limit is less than 1
+   */
+  public static <S> SuggestionProvider<S> limit(SuggestionProvider<S> provider, int limit) {
+    Objects.requireNonNull(provider, "Null provider");
+    Validate.isTrue(limit > 0, "Limit must be positive, was %s", limit);
+
+    return (context, builder) -> {
+      return provider.getSuggestions(
+          context,
+          new LimitedSuggestionsBuilder(builder, limit)
+      );
+    };
+  }
+
+  /**
+   * Scores how well a candidate fuzzily matches the specified input.
+   * <p>
+   * A candidate matches if it contains every character of the input, in
+   * order, ignoring case, eg: {@code "dmsw"} matches {@code "diamond_sword"}.
+   * Matches score higher if the input is a prefix of the candidate, if
+   * matched characters are next to each other, and if they start words. Gaps
+   * between matched characters lower the score.
+   *
+   * @param input Input given by the command source
+   * @param candidate Suggestion candidate
+   *
+   * @return Match score, higher is better, or {@code -1}, if the candidate
+   *         doesn't match. An empty input matches everything with a score of
+   *         {@code 0}
+   */
+  public static int fuzzyScore(String input, String candidate) {
+    final int inputLength = input.length();
+    final int candidateLength = candidate.length();
+
+    if (inputLength == 0) {
+      return 0;
+    }
+    if (inputLength > candidateLength) {
+      return -1;
+    }
+
+    int score = 0;
+    int last = -1;
+    int index = 0;
+
+    for (int i = 0; i < inputLength; i++) {
+      char ch = Character.toLowerCase(input.charAt(i));
+
+      while (index < candidateLength
+          && Character.toLowerCase(candidate.charAt(index)) != ch
+      ) {
+        index++;
+      }
+
+      if (index >= candidateLength) {
+        return -1;
+      }
+
+      score++;
+
+      if (index == 0) {
+        score += FUZZY_START_BONUS;
+      } else if (isWordSeparator(candidate.charAt(index - 1))) {
+        score += FUZZY_BOUNDARY_BONUS;
+      }
+
+      if (last != -1) {
+        if (index == last + 1) {
+          score += FUZZY_CONSECUTIVE_BONUS;
+        } else {
+          score -= Math.min(index - last - 1, FUZZY_MAX_GAP_PENALTY);
+        }
+      }
+
+      last = index;
+      index++;
+    }
+
+    if (matches(input, candidate)) {
+      score += FUZZY_PREFIX_BONUS;
+    }
+
+    return Math.max(score, 0);
+  }
+
+  private static boolean isWordSeparator(char ch) {
+    return ch == '_' || ch == '-' || ch == ':' || ch == '.' || ch == '/' || ch == ' ';
+  }
+
+  /**
+   * Suggests the {@code limit} best fuzzy matches of the builder's input.
+   * <p>
+   * Unlike {@link #suggest(SuggestionsBuilder, Iterable)}, this doesn't need
+   * the input to be a prefix of a suggestion, and no matter how many
+   * candidates match, only the best {@code limit} are suggested. Only
+   * {@code limit} matches are kept in memory while ranking.
+   * <p>
+   * Note that clients sort suggestions alphabetically, the ranking decides
+   * which candidates are suggested, not the order they are displayed in.
+   *
+   * @param builder Builder to suggest to
+   * @param candidates Candidates to rank
+   * @param limit Max amount of suggestions
+   * @return The built suggestions
+   *
+   * @see #fuzzyScore(String, String)
+   */
+  public static CompletableFuture<Suggestions> suggestFuzzy(
+      SuggestionsBuilder builder,
+      Iterable<String> candidates,
+      int limit
+  ) {
+    FuzzyRanking ranking = new FuzzyRanking(
+        builder.getRemaining(),
+        Math.min(limit, remainingSuggestions(builder))
+    );
+    candidates.forEach(ranking::offer);
+
+    ranking.results().forEach(builder::suggest);
+    return builder.buildFuture();
+  }
+
+  /**
+   * Suggests the {@code limit} best fuzzy matches of the builder's input.
+   *
+   * @param builder Builder to suggest to
+   * @param candidates Candidates to rank
+   * @param limit Max amount of suggestions
+   * @return The built suggestions
+   *
+   * @see #suggestFuzzy(SuggestionsBuilder, Iterable, int)
+   */
+  public static CompletableFuture<Suggestions> suggestFuzzy(
+      SuggestionsBuilder builder,
+      Stream<String> candidates,
+      int limit
+  ) {
+    FuzzyRanking ranking = new FuzzyRanking(
+        builder.getRemaining(),
+        Math.min(limit, remainingSuggestions(builder))
+    );
+    candidates.forEach(ranking::offer);
+
+    ranking.results().forEach(builder::suggest);
+    return builder.buildFuture();
+  }
+
   /**
    * Suggest all matching strings into the given SuggestionsBuilder
    *
@@ -107,11 +302,27 @@ public final class Completions {
 
     suggestions
         .filter(s -> matches(token, s))
+        .limit(remainingSuggestions(builder))
         .forEach(builder::suggest);
 
     return builder.buildFuture();
   }
 
+  /**
+   * Suggest all matching candidates in the specified {@code index}
+   *
+   * @param builder The builder to give suggestions to
+   * @param index   Index of the suggestions to pick from
+   * @return The built suggestions
+   * @see SuggestionIndex#suggest(SuggestionsBuilder)
+   */
+  public static CompletableFuture<Suggestions> suggest(
+      SuggestionsBuilder builder,
+      SuggestionIndex index
+  ) {
+    return index.suggest(builder);
+  }
+
   /**
    * Suggests all input-matching keyed objects in the specified
    * {@code iterable}.
@@ -128,13 +339,19 @@ public final class Completions {
       Iterable<? extends Keyed> iterable
   ) {
     var token = builder.getRemainingLowerCase();
+    int remaining = remainingSuggestions(builder);
 
     for (var k: iterable) {
+      if (remaining <= 0) {
+        break;
+      }
+
       if (!matches(token, k.getKey())) {
         continue;
       }
 
       builder.suggest(k.getKey().asString());
+      remaining--;
     }
 
     return builder.buildFuture();
@@ -145,13 +362,19 @@ public final class Completions {
       Iterable<? extends Key> iterable
   ) {
     var token = builder.getRemainingLowerCase();
+    int remaining = remainingSuggestions(builder);
 
     for (var k: iterable) {
+      if (remaining <= 0) {
+        break;
+      }
+
       if (!matches(token, k)) {
         continue;
       }
 
       builder.suggest(k.asString());
+      remaining--;
     }
 
     return builder.buildFuture();
@@ -164,6 +387,7 @@ public final class Completions {
     String token = builder.getRemainingLowerCase();
 
     stream.filter(key -> matches(token, key))
+        .limit(remainingSuggestions(builder))
         .map(Key::asString)
         .forEach(builder::suggest);
 
@@ -63,6 +63,8 @@ public interface ExceptionProvider extends CommandExceptionType {
 
   CommandSyntaxException unknownTeam(String word, StringReader reader);
 
+  CommandSyntaxException unknownPlayer(String name, StringReader reader);
+
   <T extends CommandSender> CommandSyntaxException sourceMustBe(Class<T> clazz);
 
   CommandSyntaxException selectorOnlyOnePlayer(StringReader reader);
@@ -102,4 +104,6 @@ public interface ExceptionProvider extends CommandExceptionType {
   CommandSyntaxException exclusiveOption(String label, Collection<Option> excl);
 
   CommandSyntaxException missingRequired(String label, Collection<Option> req);
+
+  CommandSyntaxException inputTooLong(int length, int maxLength);
 }
\ No newline at end of file
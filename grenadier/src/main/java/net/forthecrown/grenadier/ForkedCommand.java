@@ -0,0 +1,73 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.bukkit.entity.Entity;
+
+/**
+ * A command that's executed once for each of a set of target entities, as if
+ * by {@code /execute as <targets> run <command>}.
+ * <p>
+ * Unlike a fork created with {@link GrenadierCommand#fork}, no new command
+ * source or context is created for each target. Instead, the command is given
+ * a single source which is moved from target to target. That source is only
+ * valid for the duration of the {@link #run(CommandContext, CommandSource)}
+ * call it was given to, it must not be stored or used afterward.
+ * <p>
+ * Like {@code execute as}, each target's result is reported to the source's
+ * result consumers, with a failure reported as an unsuccessful result of
+ * {@code 0}. The command's own result, the amount of targets it succeeded
+ * for, is returned to the dispatcher but not reported to the consumers.
+ * <p>
+ * Use example: <pre><code>
+ * command.then(argument("targets", ArgumentTypes.entities())
+ *     .executes(forEachTarget(
+ *         context -> {
+ *           EntitySelector selector = context.getArgument("targets", EntitySelector.class);
+ *           return selector.findEntities(context.getSource());
+ *         },
+ *
+ *         (context, source) -> {
+ *           source.sendMessage("Hello from " + source.textName());
+ *           return 1;
+ *         }
+ *     ))
+ * );
+ * </code></pre>
+ *
+ * @see GrenadierCommand#executesForEach(TargetSupplier, ForkedCommand)
+ * @see Nodes#forEachTarget(TargetSupplier, ForkedCommand)
+ */
+@FunctionalInterface
+public interface ForkedCommand {
+
+  /**
+   * Executes the command for a single target
+   *
+   * @param context Command context, its source is the original command source
+   * @param source Source representing the current target
+   * @return Command result
+   *
+   * @throws CommandSyntaxException If the command fails for the target
+   */
+  int run(CommandContext<CommandSource> context, CommandSource source)
+      throws CommandSyntaxException;
+
+  /**
+   * Supplies the targets a {@link ForkedCommand} is executed for
+   */
+  @FunctionalInterface
+  interface TargetSupplier {
+
+    /**
+     * Gets the targets
+     *
+     * @param context Command context
+     * @return Targets
+     *
+     * @throws CommandSyntaxException If the targets couldn't be found
+     */
+    Iterable<? extends Entity> getTargets(CommandContext<CommandSource> context)
+        throws CommandSyntaxException;
+  }
+}
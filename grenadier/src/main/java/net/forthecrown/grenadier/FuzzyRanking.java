@@ -0,0 +1,78 @@
+package net.forthecrown.grenadier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code limit} fuzzy matches of an input.
+ * <p>
+ * Candidates are kept in a bounded min-heap ordered by match quality, so
+ * ranking {@code n} candidates takes {@code O(n log k)} time and only
+ * {@code k} candidates are ever held in memory.
+ *
+ * @see Completions#fuzzyScore(String, String)
+ */
+final class FuzzyRanking {
+
+  /** Worst match first */
+  private static final Comparator<Match> WORST_FIRST = Comparator
+      .comparingInt(Match::score)
+      .thenComparing(Comparator.comparingInt((Match m) -> m.candidate.length()).reversed())
+      .thenComparing(Match::candidate, Comparator.reverseOrder());
+
+  private final String input;
+  private final int limit;
+  private final PriorityQueue<Match> heap;
+
+  FuzzyRanking(String input, int limit) {
+    this.input = input;
+    this.limit = limit;
+    this.heap = new PriorityQueue<>(Math.min(limit, 64) + 1, WORST_FIRST);
+  }
+
+  void offer(String candidate) {
+    if (limit <= 0) {
+      return;
+    }
+
+    int score = Completions.fuzzyScore(input, candidate);
+
+    if (score < 0) {
+      return;
+    }
+
+    Match match = new Match(candidate, score);
+
+    if (heap.size() < limit) {
+      heap.add(match);
+      return;
+    }
+
+    if (WORST_FIRST.compare(match, heap.peek()) > 0) {
+      heap.poll();
+      heap.add(match);
+    }
+  }
+
+  /**
+   * Gets the kept matches, best match first
+   * @return Ranked matches
+   */
+  List<String> results() {
+    List<Match> matches = new ArrayList<>(heap);
+    matches.sort(WORST_FIRST.reversed());
+
+    List<String> result = new ArrayList<>(matches.size());
+    for (Match match : matches) {
+      result.add(match.candidate);
+    }
+
+    return result;
+  }
+
+  private record Match(String candidate, int score) {
+
+  }
+}
@@ -4,7 +4,10 @@ import com.google.common.base.Preconditions;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import net.forthecrown.grenadier.internal.GrenadierProviderImpl;
 import net.forthecrown.grenadier.internal.InternalUtil;
 import net.kyori.adventure.text.Component;
@@ -77,36 +80,177 @@ public final class Grenadier {
    * being instant, use the enqueue function. If you need the execution affects of a command to
    * happen within the function call, use this.
    *
+   * <p>
+   * <b>Note:</b> On a region-threaded server (Folia), commands must run on the
+   * thread that owns the source's entity or location. If the current thread
+   * doesn't own it, the command is handed over to the owning thread and runs
+   * later, and this method returns {@code 0} without the command having been
+   * executed. Use {@link #dispatchOwned(CommandSource, String)} to get the
+   * result of a command that may be handed over.
+   *
    * @param source Source executing the command
    * @param command Command to execute
    *
    * @throws NullPointerException If either {@code source} or {@code command} are null
    *
-   * @return Execution result, defined by {@link CommandDispatcher#execute(String, Object)}
+   * @return Execution result, defined by {@link CommandDispatcher#execute(String, Object)}.
+   *         {@code 0}, if the command was handed over to another thread
    *
    * @see #enqueueCommand(CommandSource, String)
+   * @see #dispatchOwned(CommandSource, String)
    */
   public static int dispatch(@NotNull CommandSource source, @NotNull String command) {
     return getProvider().dispatch(source, command);
   }
 
   /**
-   * Enqueues a command for execution
+   * Executes a command on the thread that owns the source.
+   * <p>
+   * If the current thread owns the source, the command is executed
+   * immediately with {@link #dispatch(CommandSource, String)}, and the returned
+   * future is already complete. Otherwise, the command is handed over to the
+   * owning thread, which on a regular server is the main thread, and the
+   * future is completed once it has executed.
+   *
+   * @param source Source executing the command
+   * @param command Command to execute
+   *
+   * @throws NullPointerException If either {@code source} or {@code command} are null
+   *
+   * @return Future completed with the execution result
+   *
+   * @see #dispatch(CommandSource, String)
+   */
+  public static CompletableFuture<Integer> dispatchOwned(
+      @NotNull CommandSource source,
+      @NotNull String command
+  ) {
+    return getProvider().dispatchOwned(source, command);
+  }
+
+  /**
+   * Executes a batch of commands, in order.
    * <p>
-   * Minecraft executes command by placing all the commands that need execution during a tick into a
-   * queue and at the end of the tick, the commands are all executed. This function places a command
-   * into that execution queue, rather than running the command instantly.
+   * Behaves like calling {@link #dispatch(CommandSource, String)} for each
+   * command, except that a single {@link CommandBatchDispatchEvent} is called
+   * for the whole batch instead of a {@code ServerCommandEvent} for each
+   * command. Exact duplicate commands in the batch are only parsed once,
+   * commands that differ in any way, eg: by a player name, are each parsed
+   * separately.
    * <p>
-   * If you need a command to be executed instantly, use {@link #dispatch(CommandSource, String)}
+   * A command failing does not stop the rest of the batch from executing.
+   * <p>
+   * If the current thread owns the source, the batch is executed immediately
+   * and the returned future is already complete. Otherwise, the whole batch
+   * is handed over to the thread that owns the source, the same way
+   * {@link #dispatchOwned(CommandSource, String)} hands over a single
+   * command, and the future is completed once the batch has executed.
+   *
+   * @param source Source executing the commands
+   * @param commands Commands to execute
+   *
+   * @throws NullPointerException If either {@code source}, {@code commands} or
+   *                              any of the commands are null
+   *
+   * @return Future completed with the execution results, in the same order as
+   *         the commands. A command that failed or was not executed has a
+   *         result of {@code 0}
+   *
+   * @see #dispatchOwned(CommandSource, String)
+   */
+  public static CompletableFuture<int[]> dispatchAll(
+      @NotNull CommandSource source,
+      @NotNull List<String> commands
+  ) {
+    return getProvider().dispatchAll(source, commands);
+  }
+
+  /**
+   * Enqueues a command for execution with {@link CommandPriority#NORMAL}
+   * priority
    *
-   * @param source
-   * @param command
+   * @param source Source executing the command
+   * @param command Command to execute
+   *
+   * @throws NullPointerException If either {@code source} or {@code command} are null
+   *
+   * @see #enqueueCommand(CommandSource, String, CommandPriority)
    * @see #dispatch(CommandSource, String)
    */
   public static void enqueueCommand(@NotNull CommandSource source, @NotNull String command) {
     getProvider().enqueueCommand(source, command);
   }
 
+  /**
+   * Enqueues a command for execution
+   * <p>
+   * Queued commands are executed at the start of the following ticks. Each tick
+   * commands are executed in order of priority until the
+   * {@link GrenadierSettings#getQueueTickBudget()} runs out, the remaining
+   * commands are left for the next tick. Within a priority, plugins take turns
+   * executing commands, so a plugin enqueueing a large amount of commands
+   * doesn't hold up the commands of other plugins.
+   * <p>
+   * If no {@link #plugin()} is set, the command is placed into Minecraft's own
+   * execution queue instead.
+   * <p>
+   * If you need a command to be executed instantly, use {@link #dispatch(CommandSource, String)}
+   *
+   * @param source Source executing the command
+   * @param command Command to execute
+   * @param priority Command priority
+   *
+   * @throws NullPointerException If {@code source}, {@code command} or
+   *                              {@code priority} are null
+   *
+   * @see #dispatch(CommandSource, String)
+   * @see GrenadierMetrics#getQueuedCommands()
+   */
+  public static void enqueueCommand(
+      @NotNull CommandSource source,
+      @NotNull String command,
+      @NotNull CommandPriority priority
+  ) {
+    getProvider().enqueueCommand(source, command, priority);
+  }
+
+  /**
+   * Runs a command task across multiple ticks.
+   * <p>
+   * If no {@link #plugin()} is set, the task is run to completion before this
+   * method returns.
+   * <p>
+   * The task's steps run on the thread that owns the source, which on a
+   * region-threaded server is the source's region. If the plugin calling this
+   * method is disabled, the task is finished as cancelled.
+   *
+   * @param source Source running the task, failures and progress messages
+   *               are sent to this source
+   * @param task Task to run
+   *
+   * @throws NullPointerException If either {@code source} or {@code task} are null
+   *
+   * @return Task handle
+   *
+   * @see IncrementalCommand
+   * @see GrenadierSettings#getTaskTickBudget()
+   */
+  public static CommandTaskHandle runTask(
+      @NotNull CommandSource source,
+      @NotNull CommandTask task
+  ) {
+    return getProvider().runTask(source, task);
+  }
+
+  /**
+   * Gets all currently running command tasks
+   * @return Running tasks
+   * @see #runTask(CommandSource, CommandTask)
+   */
+  public static Collection<CommandTaskHandle> getRunningTasks() {
+    return getProvider().getRunningTasks();
+  }
+
   /**
    * Gets the plugin using grenadier.
    * <p>
@@ -162,6 +306,22 @@ public final class Grenadier {
     return getProvider().getExceptionProvider();
   }
 
+  /**
+   * Gets Grenadier's runtime settings
+   * @return Grenadier settings
+   */
+  public static GrenadierSettings settings() {
+    return getProvider().getSettings();
+  }
+
+  /**
+   * Gets Grenadier's execution and suggestion metrics
+   * @return Grenadier metrics
+   */
+  public static GrenadierMetrics metrics() {
+    return getProvider().getMetrics();
+  }
+
   /**
    * Creates a command source for the server console.
    * @return Console command source
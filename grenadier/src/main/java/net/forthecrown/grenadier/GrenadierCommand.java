@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
+import net.forthecrown.grenadier.ForkedCommand.TargetSupplier;
 import net.forthecrown.grenadier.internal.InternalUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
@@ -219,6 +220,43 @@ public class GrenadierCommand extends LiteralArgumentBuilder<CommandSource> {
     return (GrenadierCommand) super.executes(command);
   }
 
+  /**
+   * Sets this command's executor to an incremental command, which performs
+   * its work across multiple ticks
+   *
+   * @param command Incremental command
+   * @return This
+   * @see IncrementalCommand
+   */
+  public GrenadierCommand executesIncrementally(IncrementalCommand command) {
+    return executes(InternalUtil.incremental(command));
+  }
+
+  /**
+   * Sets this command's executor to an async command, which runs on a
+   * virtual thread
+   *
+   * @param command Async command
+   * @return This
+   * @see AsyncCommand
+   */
+  public GrenadierCommand executesAsync(AsyncCommand command) {
+    return executes(InternalUtil.async(command));
+  }
+
+  /**
+   * Sets this command's executor to a forked command, executed once for each
+   * target
+   *
+   * @param supplier Target supplier
+   * @param command Command to execute for each target
+   * @return This
+   * @see ForkedCommand
+   */
+  public GrenadierCommand executesForEach(TargetSupplier supplier, ForkedCommand command) {
+    return executes(InternalUtil.forEachTarget(supplier, command));
+  }
+
   @Override
   public GrenadierCommand requires(Predicate<CommandSource> requirement) {
     return (GrenadierCommand) super.requires(requirement);
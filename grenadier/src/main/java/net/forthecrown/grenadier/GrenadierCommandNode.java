@@ -30,6 +30,9 @@ public class GrenadierCommandNode extends LiteralCommandNode<CommandSource> {
 
   private final List<String> aliases;
 
+  /** Index of the literal and aliases, used for suggestions */
+  private final SuggestionIndex labelIndex;
+
   private final boolean plainTranslation;
 
   public GrenadierCommandNode(
@@ -53,6 +56,11 @@ public class GrenadierCommandNode extends LiteralCommandNode<CommandSource> {
     this.plugin = plugin;
 
     this.aliases = aliases.stream().map(String::toLowerCase).toList();
+
+    this.labelIndex = SuggestionIndex.builder()
+        .add(literal)
+        .addAll(this.aliases)
+        .build();
   }
 
   public Plugin getPlugin() {
@@ -173,7 +181,7 @@ public class GrenadierCommandNode extends LiteralCommandNode<CommandSource> {
       CommandContext<CommandSource> context,
       SuggestionsBuilder builder
   ) {
-    return Completions.suggest(builder, this::labels);
+    return labelIndex.suggest(builder);
   }
 
   @Override
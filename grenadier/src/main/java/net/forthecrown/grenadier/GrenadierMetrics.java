@@ -0,0 +1,111 @@
+package net.forthecrown.grenadier;
+
+import java.time.Duration;
+
+/**
+ * Counters kept by Grenadier's command execution and suggestion systems.
+ * <p>
+ * All counters start at 0 when the server starts and are only ever incremented,
+ * unless {@link #reset()} is called. {@link #getQueuedCommands()} is the
+ * exception, as it reflects the current state of the command queue.
+ *
+ * @see Grenadier#metrics()
+ */
+public interface GrenadierMetrics {
+
+  /**
+   * Gets the amount of suggestion requests and command executions that were
+   * rejected because their input exceeded the maximum input length
+   *
+   * @return Rejected input count
+   * @see GrenadierSettings#getMaxSuggestionInputLength()
+   * @see GrenadierSettings#getMaxCommandInputLength()
+   */
+  long getInputLengthRejections();
+
+  /**
+   * Gets the amount of suggestion requests whose suggestions were skipped
+   * because parsing their input took longer than the parse budget
+   *
+   * @return Abandoned request count
+   * @see GrenadierSettings#getParseBudget()
+   */
+  long getParseBudgetRejections();
+
+  /**
+   * Gets the amount of suggestion requests that were dropped because the
+   * requesting player had exhausted their suggestion rate limit
+   *
+   * @return Rate limited request count
+   * @see GrenadierSettings#getSuggestionRate()
+   */
+  long getRateLimitedSuggestions();
+
+  /**
+   * Gets the amount of commands currently waiting in the command queue
+   *
+   * @return Command queue depth
+   * @see Grenadier#enqueueCommand(CommandSource, String, CommandPriority)
+   */
+  int getQueuedCommands();
+
+  /**
+   * Gets the amount of commands the command queue has executed
+   * @return Executed queued command count
+   */
+  long getExecutedQueuedCommands();
+
+  /**
+   * Gets the combined time executed commands spent waiting in the command
+   * queue
+   *
+   * @return Total queue wait time
+   */
+  Duration getTotalQueueWait();
+
+  /**
+   * Gets the longest time a single command spent waiting in the command queue
+   * @return Max queue wait time
+   */
+  Duration getMaxQueueWait();
+
+  /**
+   * Gets the average time executed commands spent waiting in the command
+   * queue
+   *
+   * @return Average queue wait time, {@link Duration#ZERO}, if no queued
+   *         commands have been executed
+   */
+  default Duration getAverageQueueWait() {
+    long executed = getExecutedQueuedCommands();
+
+    if (executed == 0) {
+      return Duration.ZERO;
+    }
+
+    return getTotalQueueWait().dividedBy(executed);
+  }
+
+  /**
+   * Gets the amount of selector resolutions answered from the per-tick
+   * selector cache
+   *
+   * @return Selector cache hits
+   * @see GrenadierSettings#isSelectorCaching()
+   */
+  long getSelectorCacheHits();
+
+  /**
+   * Gets the amount of cacheable selector resolutions that weren't in the
+   * per-tick selector cache, and had to scan the world
+   *
+   * @return Selector cache misses
+   * @see GrenadierSettings#isSelectorCaching()
+   */
+  long getSelectorCacheMisses();
+
+  /**
+   * Resets all counters to 0
+   */
+  void reset();
+}
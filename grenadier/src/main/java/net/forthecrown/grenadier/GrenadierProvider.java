@@ -3,6 +3,9 @@ package net.forthecrown.grenadier;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
@@ -25,6 +28,12 @@ public interface GrenadierProvider {
   @NotNull
   ExceptionProvider getExceptionProvider();
 
+  @NotNull
+  GrenadierSettings getSettings();
+
+  @NotNull
+  GrenadierMetrics getMetrics();
+
   Component fromMessage(Message message);
 
   Message toMessage(Component component);
@@ -35,7 +44,17 @@ public interface GrenadierProvider {
 
   int dispatch(CommandSource source, String command);
 
+  CompletableFuture<Integer> dispatchOwned(CommandSource source, String command);
+
+  CompletableFuture<int[]> dispatchAll(CommandSource source, List<String> commands);
+
   void enqueueCommand(CommandSource source, String command);
 
+  void enqueueCommand(CommandSource source, String command, CommandPriority priority);
+
+  CommandTaskHandle runTask(CommandSource source, CommandTask task);
+
+  Collection<CommandTaskHandle> getRunningTasks();
+
   void reregisterAll();
 }
\ No newline at end of file
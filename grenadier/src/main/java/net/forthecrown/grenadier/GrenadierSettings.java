@@ -0,0 +1,477 @@
+package net.forthecrown.grenadier;
+
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runtime settings used by Grenadier's command execution and suggestion
+ * systems.
+ * <p>
+ * All values may be changed at any time, changes take effect on the next
+ * command execution or suggestion request.
+ *
+ * @see Grenadier#settings()
+ */
+public final class GrenadierSettings {
+
+  /** Default value of {@link #getMaxSuggestionInputLength()} */
+  public static final int DEFAULT_MAX_SUGGESTION_INPUT = 2048;
+
+  /** Default value of {@link #getMaxCommandInputLength()} */
+  public static final int DEFAULT_MAX_COMMAND_INPUT = 32_500;
+
+  /** Default value of {@link #getParseBudget()}, no budget */
+  public static final Duration DEFAULT_PARSE_BUDGET = Duration.ZERO;
+
+  /** Default value of {@link #getSuggestionRate()} */
+  public static final double DEFAULT_SUGGESTION_RATE = 20.0D;
+
+  /** Default value of {@link #getSuggestionBurst()} */
+  public static final int DEFAULT_SUGGESTION_BURST = 40;
+
+  /** Default value of {@link #getQueueTickBudget()} */
+  public static final Duration DEFAULT_QUEUE_TICK_BUDGET = Duration.ofMillis(10);
+
+  /** Default value of {@link #getTaskTickBudget()} */
+  public static final Duration DEFAULT_TASK_TICK_BUDGET = Duration.ofMillis(5);
+
+  /** Default value of {@link #getTaskProgressInterval()} */
+  public static final int DEFAULT_TASK_PROGRESS_INTERVAL = 100;
+
+  /** Default value of {@link #getMaxSuggestions()} */
+  public static final int DEFAULT_MAX_SUGGESTIONS = 500;
+
+  private volatile int maxSuggestionInputLength = DEFAULT_MAX_SUGGESTION_INPUT;
+  private volatile int maxCommandInputLength = DEFAULT_MAX_COMMAND_INPUT;
+
+  private volatile long parseBudgetNanos = DEFAULT_PARSE_BUDGET.toNanos();
+
+  private volatile double suggestionRate = DEFAULT_SUGGESTION_RATE;
+  private volatile int suggestionBurst = DEFAULT_SUGGESTION_BURST;
+
+  private volatile boolean asyncTabCompletion = false;
+
+  private volatile long queueTickBudgetNanos = DEFAULT_QUEUE_TICK_BUDGET.toNanos();
+
+  private volatile boolean selectorCaching = false;
+  private volatile boolean nearestSelectorSearch = true;
+
+  private volatile int maxSuggestions = DEFAULT_MAX_SUGGESTIONS;
+
+  private volatile long taskTickBudgetNanos = DEFAULT_TASK_TICK_BUDGET.toNanos();
+  private volatile int taskProgressInterval = DEFAULT_TASK_PROGRESS_INTERVAL;
+
+  /**
+   * Gets the maximum length of input Grenadier will attempt to create
+   * suggestions for.
+   * <p>
+   * Suggestion requests with input longer than this are dropped before any
+   * parsing takes place and return empty suggestions.
+   *
+   * @return Max suggestion input length
+   */
+  public int getMaxSuggestionInputLength() {
+    return maxSuggestionInputLength;
+  }
+
+  /**
+   * Sets the maximum suggestion input length
+   *
+   * @param maxSuggestionInputLength Max input length
+   * @return This
+   * @throws IllegalArgumentException If the length is less than 1
+   * @see #getMaxSuggestionInputLength()
+   */
+  public GrenadierSettings setMaxSuggestionInputLength(int maxSuggestionInputLength) {
+    Preconditions.checkArgument(maxSuggestionInputLength > 0,
+        "Max input length must be positive, was %s", maxSuggestionInputLength
+    );
+
+    this.maxSuggestionInputLength = maxSuggestionInputLength;
+    return this;
+  }
+
+  /**
+   * Gets the maximum length of input Grenadier will attempt to execute.
+   * <p>
+   * Commands with input longer than this fail with a syntax error before any
+   * parsing takes place. The default value is the maximum length of a command
+   * block's command.
+   *
+   * @return Max command input length
+   */
+  public int getMaxCommandInputLength() {
+    return maxCommandInputLength;
+  }
+
+  /**
+   * Sets the maximum command input length
+   *
+   * @param maxCommandInputLength Max input length
+   * @return This
+   * @throws IllegalArgumentException If the length is less than 1
+   * @see #getMaxCommandInputLength()
+   */
+  public GrenadierSettings setMaxCommandInputLength(int maxCommandInputLength) {
+    Preconditions.checkArgument(maxCommandInputLength > 0,
+        "Max input length must be positive, was %s", maxCommandInputLength
+    );
+
+    this.maxCommandInputLength = maxCommandInputLength;
+    return this;
+  }
+
+  /**
+   * Gets the suggestion parse time budget, used to skip suggestions after a
+   * slow parse.
+   * <p>
+   * If parsing a suggestion request's input took longer than this budget,
+   * the request returns no suggestions, and the suggestions themselves are
+   * never computed.
+   * <p>
+   * This does not stop an expensive parse early. Brigadier's parser cannot be
+   * interrupted, so the budget is tested after each parse has finished, and
+   * the parse's cost has already been paid. It only saves the cost of
+   * computing suggestions on top of it. For the same reason, the budget isn't
+   * applied to command executions.
+   * <p>
+   * Disabled by default.
+   *
+   * @return Parse budget, {@link Duration#ZERO} if there's no budget
+   */
+  public Duration getParseBudget() {
+    return Duration.ofNanos(parseBudgetNanos);
+  }
+
+  /**
+   * Gets the parse time budget in nanoseconds
+   * @return Parse budget, in nanoseconds, {@code 0} if there's no budget
+   * @see #getParseBudget()
+   */
+  public long getParseBudgetNanos() {
+    return parseBudgetNanos;
+  }
+
+  /**
+   * Sets the parse time budget
+   *
+   * @param budget Parse budget, {@link Duration#ZERO} to disable the budget
+   * @return This
+   * @throws IllegalArgumentException If the budget is negative
+   * @see #getParseBudget()
+   */
+  public GrenadierSettings setParseBudget(@NotNull Duration budget) {
+    Objects.requireNonNull(budget, "Null budget");
+    Preconditions.checkArgument(!budget.isNegative(), "Negative budget: %s", budget);
+
+    this.parseBudgetNanos = budget.toNanos();
+    return this;
+  }
+
+  /**
+   * Tests if the specified amount of time spent parsing exceeds the parse
+   * budget
+   *
+   * @param elapsedNanos Time spent parsing, in nanoseconds
+   * @return {@code true}, if a budget is set and the time exceeds it,
+   *         {@code false} otherwise
+   */
+  public boolean exceedsParseBudget(long elapsedNanos) {
+    long budget = parseBudgetNanos;
+    return budget > 0 && elapsedNanos > budget;
+  }
+
+  /**
+   * Gets the amount of suggestion requests a single player may make per
+   * second.
+   * <p>
+   * Each player has a bucket of {@link #getSuggestionBurst()} tokens which
+   * refills at this rate. Every suggestion request takes a token, and when the
+   * bucket is empty, suggestion requests return no suggestions.
+   *
+   * @return Suggestion requests per second, {@code 0} if suggestion requests
+   *         are not limited
+   */
+  public double getSuggestionRate() {
+    return suggestionRate;
+  }
+
+  /**
+   * Sets the amount of suggestion requests a single player may make per second
+   *
+   * @param suggestionRate Requests per second, {@code 0} to disable limiting
+   * @return This
+   * @throws IllegalArgumentException If the rate is negative
+   * @see #getSuggestionRate()
+   */
+  public GrenadierSettings setSuggestionRate(double suggestionRate) {
+    Preconditions.checkArgument(suggestionRate >= 0,
+        "Negative suggestion rate: %s", suggestionRate
+    );
+
+    this.suggestionRate = suggestionRate;
+    return this;
+  }
+
+  /**
+   * Gets the maximum amount of suggestion requests a player can make in a
+   * burst, before being limited by the {@link #getSuggestionRate()}
+   *
+   * @return Suggestion burst size
+   */
+  public int getSuggestionBurst() {
+    return suggestionBurst;
+  }
+
+  /**
+   * Sets the suggestion burst size
+   *
+   * @param suggestionBurst Burst size
+   * @return This
+   * @throws IllegalArgumentException If the size is less than 1
+   * @see #getSuggestionBurst()
+   */
+  public GrenadierSettings setSuggestionBurst(int suggestionBurst) {
+    Preconditions.checkArgument(suggestionBurst > 0,
+        "Burst size must be positive, was %s", suggestionBurst
+    );
+
+    this.suggestionBurst = suggestionBurst;
+    return this;
+  }
+
+  /**
+   * Tests if Grenadier commands are tab completed asynchronously.
+   * <p>
+   * If enabled, Grenadier handles Paper's {@code AsyncTabCompleteEvent} for
+   * its own commands, parsing the event's buffer directly, off the main
+   * thread. This means any suggestion providers used by Grenadier commands
+   * must be safe to call from other threads.
+   * <p>
+   * Suggestions that don't complete immediately are left to the server's
+   * regular tab completion.
+   *
+   * @return {@code true}, if asynchronous tab completion is enabled,
+   *         {@code false} otherwise. {@code false} by default
+   */
+  public boolean isAsyncTabCompletion() {
+    return asyncTabCompletion;
+  }
+
+  /**
+   * Sets if Grenadier commands are tab completed asynchronously
+   *
+   * @param asyncTabCompletion {@code true} to enable async tab completion
+   * @return This
+   * @see #isAsyncTabCompletion()
+   */
+  public GrenadierSettings setAsyncTabCompletion(boolean asyncTabCompletion) {
+    this.asyncTabCompletion = asyncTabCompletion;
+    return this;
+  }
+
+  /**
+   * Gets the amount of time the command queue may spend executing commands
+   * during a single tick.
+   * <p>
+   * Commands that don't fit within a tick's budget are left in the queue for
+   * the next tick. At least one queued command is executed each tick,
+   * regardless of the budget.
+   *
+   * @return Queue tick budget, {@link Duration#ZERO} if there's no budget
+   * @see Grenadier#enqueueCommand(CommandSource, String, CommandPriority)
+   */
+  public Duration getQueueTickBudget() {
+    return Duration.ofNanos(queueTickBudgetNanos);
+  }
+
+  /**
+   * Gets the command queue tick budget in nanoseconds
+   * @return Queue tick budget, in nanoseconds, {@code 0} if there's no budget
+   * @see #getQueueTickBudget()
+   */
+  public long getQueueTickBudgetNanos() {
+    return queueTickBudgetNanos;
+  }
+
+  /**
+   * Sets the command queue tick budget
+   *
+   * @param budget Tick budget, {@link Duration#ZERO} to execute all queued
+   *               commands each tick
+   * @return This
+   * @throws IllegalArgumentException If the budget is negative
+   * @see #getQueueTickBudget()
+   */
+  public GrenadierSettings setQueueTickBudget(@NotNull Duration budget) {
+    Objects.requireNonNull(budget, "Null budget");
+    Preconditions.checkArgument(!budget.isNegative(), "Negative budget: %s", budget);
+
+    this.queueTickBudgetNanos = budget.toNanos();
+    return this;
+  }
+
+  /**
+   * Gets the amount of time running {@link CommandTask}s may spend performing
+   * steps during a single tick.
+   * <p>
+   * At least one step is performed each tick, regardless of the budget.
+   *
+   * @return Task tick budget, {@link Duration#ZERO} if there's no budget
+   * @see Grenadier#runTask(CommandSource, CommandTask)
+   */
+  public Duration getTaskTickBudget() {
+    return Duration.ofNanos(taskTickBudgetNanos);
+  }
+
+  /**
+   * Gets the task tick budget in nanoseconds
+   * @return Task tick budget, in nanoseconds, {@code 0} if there's no budget
+   * @see #getTaskTickBudget()
+   */
+  public long getTaskTickBudgetNanos() {
+    return taskTickBudgetNanos;
+  }
+
+  /**
+   * Sets the task tick budget
+   *
+   * @param budget Tick budget, {@link Duration#ZERO} to run all tasks to
+   *               completion in a single tick
+   * @return This
+   * @throws IllegalArgumentException If the budget is negative
+   * @see #getTaskTickBudget()
+   */
+  public GrenadierSettings setTaskTickBudget(@NotNull Duration budget) {
+    Objects.requireNonNull(budget, "Null budget");
+    Preconditions.checkArgument(!budget.isNegative(), "Negative budget: %s", budget);
+
+    this.taskTickBudgetNanos = budget.toNanos();
+    return this;
+  }
+
+  /**
+   * Gets the interval, in ticks, at which a running task's
+   * {@link CommandTask#progress()} message is sent to the task's source
+   *
+   * @return Progress message interval, {@code 0}, if no progress messages
+   *         are sent
+   */
+  public int getTaskProgressInterval() {
+    return taskProgressInterval;
+  }
+
+  /**
+   * Sets the task progress message interval
+   *
+   * @param taskProgressInterval Interval in ticks, {@code 0} to disable
+   *                             progress messages
+   * @return This
+   * @throws IllegalArgumentException If the interval is negative
+   * @see #getTaskProgressInterval()
+   */
+  public GrenadierSettings setTaskProgressInterval(int taskProgressInterval) {
+    Preconditions.checkArgument(taskProgressInterval >= 0,
+        "Negative progress interval: %s", taskProgressInterval
+    );
+
+    this.taskProgressInterval = taskProgressInterval;
+    return this;
+  }
+
+  /**
+   * Tests if entity selector results are cached for the rest of the tick they
+   * were resolved in.
+   * <p>
+   * If enabled, resolving the same selector from the same source world,
+   * position, entity and output multiple times during a tick only scans the
+   * world's entities once. Selectors that pick random entities are never
+   * cached.
+   * <p>
+   * Since cached results are reused for the rest of the tick, entities that
+   * spawn, die or move after a selector was first resolved may be missing from,
+   * or wrongly included in, later results during the same tick.
+   *
+   * @return {@code true}, if selector caching is enabled,
+   *         {@code false} otherwise. {@code false} by default
+   */
+  public boolean isSelectorCaching() {
+    return selectorCaching;
+  }
+
+  /**
+   * Sets if entity selector results are cached for the rest of the tick
+   *
+   * @param selectorCaching {@code true} to enable caching
+   * @return This
+   * @see #isSelectorCaching()
+   */
+  public GrenadierSettings setSelectorCaching(boolean selectorCaching) {
+    this.selectorCaching = selectorCaching;
+    return this;
+  }
+
+  /**
+   * Tests if limited entity selectors sorted by distance, like
+   * {@code @n} or {@code @e[sort=nearest,limit=3]}, search for entities in
+   * increasingly large areas around their origin.
+   * <p>
+   * Without a distance limit, vanilla selectors test every entity in every
+   * world and then sort them all, even if only the nearest entity is needed.
+   * If enabled, such selectors first look at nearby chunk sections only, and
+   * fall back to a full search if not enough entities were found nearby. The
+   * results are the same either way.
+   *
+   * @return {@code true}, if nearby searches are enabled,
+   *         {@code false} otherwise. {@code true} by default
+   */
+  public boolean isNearestSelectorSearch() {
+    return nearestSelectorSearch;
+  }
+
+  /**
+   * Sets if limited, distance-sorted entity selectors search nearby areas
+   * first
+   *
+   * @param nearestSelectorSearch {@code true} to enable nearby searches
+   * @return This
+   * @see #isNearestSelectorSearch()
+   */
+  public GrenadierSettings setNearestSelectorSearch(boolean nearestSelectorSearch) {
+    this.nearestSelectorSearch = nearestSelectorSearch;
+    return this;
+  }
+
+  /**
+   * Gets the max amount of suggestions sent to a command source at once.
+   * <p>
+   * {@link Completions} helpers stop testing candidates once this many
+   * suggestions have been made, and suggestions given to the client are cut
+   * off at this length. Individual suggestion providers can be given a lower
+   * limit with {@link Completions#limit(com.mojang.brigadier.suggestion.SuggestionProvider, int)}.
+   *
+   * @return Max suggestion count, {@code 0}, if there's no limit
+   */
+  public int getMaxSuggestions() {
+    return maxSuggestions;
+  }
+
+  /**
+   * Sets the max amount of suggestions sent to a command source at once
+   *
+   * @param maxSuggestions Max suggestion count, {@code 0} for no limit
+   * @return This
+   * @throws IllegalArgumentException If the limit is negative
+   * @see #getMaxSuggestions()
+   */
+  public GrenadierSettings setMaxSuggestions(int maxSuggestions) {
+    Preconditions.checkArgument(maxSuggestions >= 0,
+        "Negative suggestion limit: %s", maxSuggestions
+    );
+
+    this.maxSuggestions = maxSuggestions;
+    return this;
+  }
+}
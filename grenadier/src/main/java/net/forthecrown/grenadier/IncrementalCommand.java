@@ -0,0 +1,42 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A command that does its work in a {@link CommandTask} which is run across
+ * multiple ticks, instead of doing all of it during the command's execution.
+ * <p>
+ * Use example: <pre><code>
+ * command.executesIncrementally(context -> {
+ *   World world = context.getSource().getWorld();
+ *   Iterator&lt;Chunk&gt; chunks = List.of(world.getLoadedChunks()).iterator();
+ *
+ *   return CommandTask.forEach(chunks, chunk -> {
+ *     // Scan chunk
+ *   });
+ * });
+ * </code></pre>
+ *
+ * @see GrenadierCommand#executesIncrementally(IncrementalCommand)
+ * @see Nodes#incremental(IncrementalCommand)
+ */
+@FunctionalInterface
+public interface IncrementalCommand {
+
+  /**
+   * Starts the command.
+   * <p>
+   * Argument parsing and validation should be done here, any syntax exception
+   * thrown by this method is reported like any other command's.
+   *
+   * @param context Command context
+   * @return Task to run, or {@code null}, if there's no work to do
+   *
+   * @throws CommandSyntaxException If the command fails to start
+   */
+  @Nullable
+  CommandTask start(CommandContext<CommandSource> context)
+      throws CommandSyntaxException;
+}
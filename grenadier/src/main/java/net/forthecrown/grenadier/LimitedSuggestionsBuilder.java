@@ -0,0 +1,125 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.Message;
+import com.mojang.brigadier.suggestion.IntegerSuggestion;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suggestions builder that ignores suggestions once a limit is reached.
+ * <p>
+ * The cap keeps the first suggestions in the order they're offered, not the
+ * first after the suggestions are sorted. A provider iterating an unordered
+ * collection, like a {@code HashSet}, keeps an arbitrary subset of it.
+ * Suggestions merged with {@link #add(SuggestionsBuilder)} are the exception,
+ * the first of those after sorting are kept.
+ * <p>
+ * Builders created with {@link #createOffset(int)} share the limit with the
+ * builder they were created from.
+ *
+ * @see Completions#limit(com.mojang.brigadier.suggestion.SuggestionProvider, int)
+ * @see Completions#remainingSuggestions(SuggestionsBuilder)
+ */
+final class LimitedSuggestionsBuilder extends SuggestionsBuilder {
+
+  private final int limit;
+  private final AtomicInteger count;
+
+  LimitedSuggestionsBuilder(SuggestionsBuilder builder, int limit) {
+    this(builder.getInput(), builder.getStart(), limit, new AtomicInteger());
+  }
+
+  private LimitedSuggestionsBuilder(
+      String input,
+      int start,
+      int limit,
+      AtomicInteger count
+  ) {
+    super(input, start);
+    this.limit = limit;
+    this.count = count;
+  }
+
+  int remaining() {
+    return Math.max(0, limit - count.get());
+  }
+
+  /**
+   * Reserves up to {@code amount} suggestions
+   *
+   * @return The amount reserved, less than {@code amount} if the limit was hit
+   */
+  private int reserve(int amount) {
+    int before = count.getAndUpdate(c -> Math.min(limit, c + amount));
+    return Math.max(0, Math.min(amount, limit - before));
+  }
+
+  // The base builder drops text suggestions equal to the remaining input,
+  // those mustn't count towards the limit
+
+  @Override
+  public SuggestionsBuilder suggest(String text) {
+    if (text.equals(getRemaining()) || reserve(1) < 1) {
+      return this;
+    }
+    return super.suggest(text);
+  }
+
+  @Override
+  public SuggestionsBuilder suggest(String text, Message tooltip) {
+    if (text.equals(getRemaining()) || reserve(1) < 1) {
+      return this;
+    }
+    return super.suggest(text, tooltip);
+  }
+
+  @Override
+  public SuggestionsBuilder suggest(int value) {
+    return reserve(1) > 0 ? super.suggest(value) : this;
+  }
+
+  @Override
+  public SuggestionsBuilder suggest(int value, Message tooltip) {
+    return reserve(1) > 0 ? super.suggest(value, tooltip) : this;
+  }
+
+  @Override
+  public SuggestionsBuilder add(SuggestionsBuilder other) {
+    // Offset builders share this builder's count, their suggestions were
+    // counted when they were made
+    if (other instanceof LimitedSuggestionsBuilder limited && limited.count == count) {
+      return super.add(other);
+    }
+
+    Suggestions built = other.build();
+    List<Suggestion> suggestions = built.getList();
+    int reserved = reserve(suggestions.size());
+
+    if (reserved == suggestions.size()) {
+      return super.add(other);
+    }
+
+    // Over the limit, re-suggest what fits into a builder covering the same
+    // range and merge that instead
+    SuggestionsBuilder truncated
+        = new SuggestionsBuilder(other.getInput(), built.getRange().getStart());
+
+    for (Suggestion suggestion : suggestions.subList(0, reserved)) {
+      if (suggestion instanceof IntegerSuggestion integer) {
+        truncated.suggest(integer.getValue(), integer.getTooltip());
+      } else {
+        truncated.suggest(suggestion.getText(), suggestion.getTooltip());
+      }
+    }
+
+    return super.add(truncated);
+  }
+
+  @Override
+  public SuggestionsBuilder createOffset(int start) {
+    return new LimitedSuggestionsBuilder(getInput(), start, limit, count);
+  }
+}
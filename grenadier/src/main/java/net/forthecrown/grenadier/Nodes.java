@@ -1,8 +1,11 @@
 package net.forthecrown.grenadier;
 
+import com.mojang.brigadier.Command;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import net.forthecrown.grenadier.ForkedCommand.TargetSupplier;
+import net.forthecrown.grenadier.internal.InternalUtil;
 
 /**
  * Utility class for creating argument builder specific to grenadier
@@ -31,4 +34,44 @@ public class Nodes {
   ) {
     return RequiredArgumentBuilder.argument(label, type);
   }
-}
\ No newline at end of file
+
+  /**
+   * Creates a command that runs an incremental command's task across multiple
+   * ticks
+   *
+   * @param command Incremental command
+   * @return Created command
+   * @see IncrementalCommand
+   */
+  public static Command<CommandSource> incremental(IncrementalCommand command) {
+    return InternalUtil.incremental(command);
+  }
+
+  /**
+   * Creates a command that runs an async command's body on a virtual thread
+   *
+   * @param command Async command
+   * @return Created command
+   * @see AsyncCommand
+   */
+  public static Command<CommandSource> async(AsyncCommand command) {
+    return InternalUtil.async(command);
+  }
+
+  /**
+   * Creates a command that executes a forked command once for each target,
+   * reusing a single command source for all targets
+   *
+   * @param supplier Target supplier
+   * @param command Command to execute for each target
+   * @return Created command, its result is the amount of targets the command
+   *         succeeded for
+   * @see ForkedCommand
+   */
+  public static Command<CommandSource> forEachTarget(
+      TargetSupplier supplier,
+      ForkedCommand command
+  ) {
+    return InternalUtil.forEachTarget(supplier, command);
+  }
+}
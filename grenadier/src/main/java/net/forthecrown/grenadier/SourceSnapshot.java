@@ -0,0 +1,85 @@
+package net.forthecrown.grenadier;
+
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable snapshot of a {@link CommandSource}.
+ * <p>
+ * All values are captured when the snapshot is created, so unlike a
+ * command source, a snapshot is safe to use from any thread and never reads
+ * world state.
+ * <p>
+ * Messages sent to a snapshot are forwarded to the audience the source had
+ * when the snapshot was taken.
+ *
+ * @see CommandSource#snapshot()
+ */
+public interface SourceSnapshot extends ForwardingAudience.Single {
+
+  /**
+   * Gets the source's text name
+   * @return Text name
+   * @see CommandSource#textName()
+   */
+  @NotNull
+  String textName();
+
+  /**
+   * Gets the source's display name
+   * @return Display name
+   * @see CommandSource#displayName()
+   */
+  @NotNull
+  Component displayName();
+
+  /**
+   * Gets the source's location.
+   * <p>
+   * Returns a new copy of the location on each call, the location's world
+   * should not be accessed off the server thread.
+   *
+   * @return Source's location
+   * @see CommandSource#getLocation()
+   */
+  @NotNull
+  Location getLocation();
+
+  /**
+   * Gets the source's permission level
+   * @return Permission level
+   * @see CommandSource#getPermissionLevel()
+   */
+  @NotNull
+  PermissionLevel getPermissionLevel();
+
+  /**
+   * Tests if the source has the specified permission level
+   *
+   * @param level Permission level
+   * @return {@code true}, if the source's level is equal to or greater than
+   *         the specified {@code level}, {@code false} otherwise
+   */
+  default boolean hasPermission(@NotNull PermissionLevel level) {
+    return getPermissionLevel().ordinal() >= level.ordinal();
+  }
+
+  /**
+   * Tests if the source had the specified permission when the snapshot was
+   * taken
+   *
+   * @param permission Permission name
+   * @return {@code true}, if the source has the permission,
+   *         {@code false} otherwise
+   * @see CommandSource#hasPermission(String)
+   */
+  boolean hasPermission(@NotNull String permission);
+
+  /**
+   * Tests if the source was an operator when the snapshot was taken
+   * @return {@code true}, if the source is an operator, {@code false} otherwise
+   */
+  boolean isOp();
+}
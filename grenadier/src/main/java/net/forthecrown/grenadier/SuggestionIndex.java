@@ -0,0 +1,322 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.Message;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable, sorted set of suggestion candidates.
+ * <p>
+ * Candidates are lower-cased and sorted when the index is created, so finding
+ * the candidates that match an input is a binary search followed by a scan
+ * over the matching range, instead of a test of every candidate. Matching is
+ * the same as {@link Completions#matches(String, String)}, case-insensitive
+ * prefix matching.
+ * <p>
+ * Example: <pre><code>
+ * SuggestionIndex index = SuggestionIndex.of("red", "green", "blue");
+ *
+ * // Suggests "green"
+ * index.suggest(builder); // builder input: "gr"
+ * </code></pre>
+ *
+ * @see #builder()
+ * @see Completions#suggest(SuggestionsBuilder, SuggestionIndex)
+ */
+public final class SuggestionIndex {
+
+  /** Index with no candidates */
+  public static final SuggestionIndex EMPTY
+      = new SuggestionIndex(new String[0], new String[0], null);
+
+  /** Lower-cased candidates, sorted */
+  private final String[] keys;
+
+  /** Original candidates, in the same order as {@link #keys} */
+  private final String[] values;
+
+  /** Candidate tooltips, in the same order as {@link #keys}, may be null */
+  private final Message[] tooltips;
+
+  private SuggestionIndex(String[] keys, String[] values, Message[] tooltips) {
+    this.keys = keys;
+    this.values = values;
+    this.tooltips = tooltips;
+  }
+
+  /**
+   * Creates an index of the specified candidates
+   * @param candidates Suggestion candidates
+   * @return Created index
+   */
+  public static SuggestionIndex of(String... candidates) {
+    Objects.requireNonNull(candidates, "Null candidates");
+    return of(Arrays.asList(candidates));
+  }
+
+  /**
+   * Creates an index of the specified candidates
+   * @param candidates Suggestion candidates
+   * @return Created index
+   */
+  public static SuggestionIndex of(Iterable<String> candidates) {
+    Objects.requireNonNull(candidates, "Null candidates");
+
+    Builder builder = builder();
+    candidates.forEach(builder::add);
+
+    return builder.build();
+  }
+
+  /**
+   * Creates a new index builder
+   * @return Created builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the amount of candidates in this index
+   * @return Candidate count
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  /**
+   * Tests if this index has no candidates
+   * @return {@code true}, if this index is empty, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return keys.length == 0;
+  }
+
+  /**
+   * Suggests all candidates that match the builder's remaining input, up to
+   * {@link Completions#remainingSuggestions(SuggestionsBuilder)}
+   *
+   * @param builder Builder to suggest to
+   * @return Built suggestions
+   */
+  public CompletableFuture<Suggestions> suggest(SuggestionsBuilder builder) {
+    return suggest(builder, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Suggests, at most, {@code limit} candidates that match the builder's
+   * remaining input. Candidates are suggested in alphabetical order.
+   *
+   * @param builder Builder to suggest to
+   * @param limit Max amount of candidates to suggest
+   * @return Built suggestions
+   */
+  public CompletableFuture<Suggestions> suggest(SuggestionsBuilder builder, int limit) {
+    addSuggestions(builder, limit);
+    return builder.buildFuture();
+  }
+
+  /**
+   * Adds, at most, {@code limit} candidates that match the builder's
+   * remaining input to the builder, without building it
+   *
+   * @param builder Builder to add suggestions to
+   * @param limit Max amount of candidates to suggest
+   * @return Amount of added suggestions
+   */
+  public int addSuggestions(SuggestionsBuilder builder, int limit) {
+    limit = Math.min(limit, Completions.remainingSuggestions(builder));
+    String token = builder.getRemainingLowerCase();
+    int start = lowerBound(token);
+    int added = 0;
+
+    for (int i = start; i < keys.length && added < limit; i++) {
+      if (!keys[i].startsWith(token)) {
+        break;
+      }
+
+      if (tooltips == null || tooltips[i] == null) {
+        builder.suggest(values[i]);
+      } else {
+        builder.suggest(values[i], tooltips[i]);
+      }
+
+      added++;
+    }
+
+    return added;
+  }
+
+  /**
+   * Suggests, at most, {@code limit} candidates, preferring candidates that
+   * start with the builder's remaining input.
+   * <p>
+   * If fewer than {@code limit} candidates start with the input, the
+   * remaining suggestions are the best fuzzy matches of the input, see
+   * {@link Completions#fuzzyScore(String, String)}. Fuzzy matches are
+   * suggested without tooltips.
+   *
+   * @param builder Builder to suggest to
+   * @param limit Max amount of candidates to suggest
+   * @return Built suggestions
+   */
+  public CompletableFuture<Suggestions> suggestFuzzy(SuggestionsBuilder builder, int limit) {
+    limit = Math.min(limit, Completions.remainingSuggestions(builder));
+    int added = addSuggestions(builder, limit);
+
+    if (added >= limit) {
+      return builder.buildFuture();
+    }
+
+    String token = builder.getRemainingLowerCase();
+    FuzzyRanking ranking = new FuzzyRanking(token, limit - added);
+
+    for (int i = 0; i < keys.length; i++) {
+      // Prefix matches were already suggested
+      if (keys[i].startsWith(token)) {
+        continue;
+      }
+
+      ranking.offer(values[i]);
+    }
+
+    ranking.results().forEach(builder::suggest);
+    return builder.buildFuture();
+  }
+
+  /**
+   * Passes all candidates that match the specified input to a consumer, in
+   * alphabetical order
+   *
+   * @param input Input to match, case-insensitive
+   * @param consumer Match consumer
+   */
+  public void forEachMatch(String input, Consumer<String> consumer) {
+    String token = input.toLowerCase(Locale.ROOT);
+
+    for (int i = lowerBound(token); i < keys.length; i++) {
+      if (!keys[i].startsWith(token)) {
+        break;
+      }
+
+      consumer.accept(values[i]);
+    }
+  }
+
+  /**
+   * Gets all candidates that match the specified input
+   *
+   * @param input Input to match, case-insensitive
+   * @return Matching candidates, in alphabetical order
+   */
+  public List<String> matches(String input) {
+    List<String> result = new ArrayList<>();
+    forEachMatch(input, result::add);
+    return result;
+  }
+
+  private int lowerBound(String token) {
+    int low = 0;
+    int high = keys.length;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (keys[mid].compareTo(token) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Builder for {@link SuggestionIndex} instances
+   */
+  public static final class Builder {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private boolean hasTooltips = false;
+
+    private Builder() {}
+
+    /**
+     * Adds a candidate
+     * @param candidate Candidate
+     * @return This
+     */
+    public Builder add(String candidate) {
+      return add(candidate, null);
+    }
+
+    /**
+     * Adds a candidate with a tooltip
+     *
+     * @param candidate Candidate
+     * @param tooltip Candidate's tooltip, or {@code null} for no tooltip
+     *
+     * @return This
+     */
+    public Builder add(String candidate, @Nullable Message tooltip) {
+      Objects.requireNonNull(candidate, "Null candidate");
+
+      entries.add(new Entry(candidate.toLowerCase(Locale.ROOT), candidate, tooltip));
+      hasTooltips |= tooltip != null;
+
+      return this;
+    }
+
+    /**
+     * Adds multiple candidates
+     * @param candidates Candidates
+     * @return This
+     */
+    public Builder addAll(Iterable<String> candidates) {
+      candidates.forEach(this::add);
+      return this;
+    }
+
+    /**
+     * Builds the index
+     * @return Built index
+     */
+    public SuggestionIndex build() {
+      if (entries.isEmpty()) {
+        return EMPTY;
+      }
+
+      Entry[] sorted = entries.toArray(Entry[]::new);
+      Arrays.sort(sorted, Comparator.comparing(Entry::key).thenComparing(Entry::value));
+
+      String[] keys = new String[sorted.length];
+      String[] values = new String[sorted.length];
+      Message[] tooltips = hasTooltips ? new Message[sorted.length] : null;
+
+      for (int i = 0; i < sorted.length; i++) {
+        keys[i] = sorted[i].key;
+        values[i] = sorted[i].value;
+
+        if (tooltips != null) {
+          tooltips[i] = sorted[i].tooltip;
+        }
+      }
+
+      return new SuggestionIndex(keys, values, tooltips);
+    }
+  }
+
+  private record Entry(String key, String value, Message tooltip) {
+
+  }
+}
@@ -0,0 +1,169 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.forthecrown.grenadier.AsyncCommand;
+import net.forthecrown.grenadier.AsyncCommandContext;
+import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.Grenadier;
+import net.forthecrown.grenadier.SourceSnapshot;
+import net.forthecrown.grenadier.SyntaxExceptions;
+import net.kyori.adventure.audience.Audience;
+import net.minecraft.commands.CommandSourceStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs {@link AsyncCommand}s on virtual threads, handing work back to the
+ * thread that owns the command's source when requested
+ */
+class AsyncCommandRunner {
+
+  private final GrenadierProviderImpl provider;
+
+  /** Max time to wait for running commands to stop during shutdown */
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 1000L;
+
+  private ExecutorService executor;
+
+  public AsyncCommandRunner(GrenadierProviderImpl provider) {
+    this.provider = provider;
+  }
+
+  private synchronized ExecutorService executor() {
+    if (executor == null || executor.isShutdown()) {
+      executor = Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("grenadier-async-", 0).factory()
+      );
+    }
+
+    return executor;
+  }
+
+  /**
+   * Interrupts all running async commands and waits, for a short while, for
+   * them to stop. Commands started afterwards get a new executor.
+   */
+  public void shutdown() {
+    ExecutorService executor;
+
+    synchronized (this) {
+      executor = this.executor;
+      this.executor = null;
+    }
+
+    if (executor == null) {
+      return;
+    }
+
+    executor.shutdownNow();
+
+    try {
+      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        Grenadier.getLogger().warn("Some async commands did not stop in time");
+      }
+    } catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean canHandoff() {
+    Plugin plugin = provider.getPlugin();
+    return plugin != null && plugin.isEnabled();
+  }
+
+  public void run(CommandContext<CommandSource> context, AsyncCommand command) {
+    ContextImpl asyncContext = new ContextImpl(context);
+
+    // Without a plugin, there's no way to get back to the server thread,
+    // so the command has to run on it
+    if (!canHandoff()) {
+      try {
+        command.run(asyncContext);
+      } catch (Throwable t) {
+        report(context, t);
+      }
+      return;
+    }
+
+    ExecutorService executor = executor();
+    executor.execute(() -> runCommand(asyncContext, command, executor));
+  }
+
+  private void runCommand(
+      ContextImpl context,
+      AsyncCommand command,
+      ExecutorService executor
+  ) {
+    try {
+      command.run(context);
+    } catch (Throwable t) {
+      // Interrupted by shutdown(), the plugin is being disabled, and there's
+      // nothing to report the failure on
+      if (executor.isShutdown()) {
+        return;
+      }
+
+      runSync(context.stack, () -> report(context.context, t));
+    }
+  }
+
+  private void report(CommandContext<CommandSource> context, Throwable t) {
+    CommandSource source = context.getSource();
+
+    if (t instanceof CommandSyntaxException exc) {
+      SyntaxExceptions.handle(exc, source);
+      return;
+    }
+
+    provider.getExceptionHandler()
+        .onCommandException(new StringReader(context.getInput()), t, source);
+  }
+
+  private void runSync(CommandSourceStack stack, Runnable runnable) {
+    if (RegionAccess.ownsSource(stack) || !canHandoff()) {
+      runnable.run();
+      return;
+    }
+
+    RegionAccess.execute(provider.getPlugin(), stack, runnable);
+  }
+
+  private class ContextImpl implements AsyncCommandContext {
+
+    private final CommandContext<CommandSource> context;
+    private final SourceSnapshot source;
+    private final CommandSourceStack stack;
+
+    ContextImpl(CommandContext<CommandSource> context) {
+      this.context = context;
+      this.source = context.getSource().snapshot();
+      this.stack = InternalUtil.unwrap(context.getSource());
+    }
+
+    @Override
+    public CommandContext<CommandSource> getContext() {
+      return context;
+    }
+
+    @Override
+    public SourceSnapshot getSource() {
+      return source;
+    }
+
+    @Override
+    public <T> T sync(Callable<T> callable) throws Exception {
+      return RegionAccess.call(provider.getPlugin(), stack, callable);
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+      return source;
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package net.forthecrown.grenadier.internal;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.forthecrown.grenadier.CommandPriority;
+import net.forthecrown.grenadier.GrenadierSettings;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.dedicated.DedicatedServer;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Queue of commands waiting for execution.
+ * <p>
+ * Each tick, commands are executed in priority order until the tick budget
+ * runs out. Within a priority, each plugin that enqueued commands gets a
+ * lane, and lanes take turns executing a single command, so one plugin
+ * enqueueing thousands of commands doesn't delay everyone else's
+ */
+class CommandQueue {
+
+  private final GrenadierSettings settings;
+  private final GrenadierMetricsImpl metrics;
+
+  private final PriorityClass[] classes;
+
+  private ScheduledTask task;
+  private Plugin plugin;
+
+  public CommandQueue(GrenadierSettings settings, GrenadierMetricsImpl metrics) {
+    this.settings = settings;
+    this.metrics = metrics;
+
+    CommandPriority[] priorities = CommandPriority.values();
+    this.classes = new PriorityClass[priorities.length];
+
+    for (int i = 0; i < classes.length; i++) {
+      classes[i] = new PriorityClass();
+    }
+  }
+
+  public void start(Plugin plugin) {
+    stop();
+    this.plugin = plugin;
+    task = RegionAccess.repeat(plugin, this::tick);
+  }
+
+  public void stop() {
+    if (task == null) {
+      return;
+    }
+
+    task.cancel();
+    task = null;
+  }
+
+  public boolean isRunning() {
+    return task != null && !task.isCancelled();
+  }
+
+  public synchronized void enqueue(
+      CommandSourceStack stack,
+      String command,
+      CommandPriority priority,
+      @Nullable Plugin owner
+  ) {
+    PriorityClass priorityClass = classes[priority.ordinal()];
+    Lane lane = priorityClass.lanes.computeIfAbsent(owner, Lane::new);
+
+    // Empty lanes are not in the turn order
+    if (lane.entries.isEmpty()) {
+      priorityClass.turns.addLast(lane);
+    }
+
+    lane.entries.addLast(new Entry(stack, command, System.nanoTime()));
+    metrics.queuedCommands.incrementAndGet();
+  }
+
+  /**
+   * Removes all pending commands enqueued by a plugin, telling each command's
+   * source that its command will not be executed
+   *
+   * @param owner Plugin whose commands to remove
+   */
+  public void cancel(Plugin owner) {
+    List<Entry> removed = new ArrayList<>();
+
+    synchronized (this) {
+      for (PriorityClass priorityClass : classes) {
+        Lane lane = priorityClass.lanes.remove(owner);
+
+        if (lane == null) {
+          continue;
+        }
+
+        priorityClass.turns.remove(lane);
+        removed.addAll(lane.entries);
+      }
+
+      metrics.queuedCommands.addAndGet(-removed.size());
+    }
+
+    notifyCancelled(removed, owner.getName() + " was disabled");
+  }
+
+  /**
+   * Removes all pending commands, telling each command's source that its
+   * command will not be executed
+   */
+  public void cancelAll() {
+    List<Entry> removed = new ArrayList<>();
+
+    synchronized (this) {
+      for (PriorityClass priorityClass : classes) {
+        for (Lane lane : priorityClass.lanes.values()) {
+          removed.addAll(lane.entries);
+        }
+
+        priorityClass.lanes.clear();
+        priorityClass.turns.clear();
+      }
+
+      metrics.queuedCommands.addAndGet(-removed.size());
+    }
+
+    notifyCancelled(removed, "the command queue was shut down");
+  }
+
+  private static void notifyCancelled(List<Entry> entries, String reason) {
+    for (Entry entry : entries) {
+      entry.stack.sendFailure(
+          Component.literal(
+              "Queued command '" + entry.command + "' was not executed, " + reason
+          )
+      );
+    }
+  }
+
+  private synchronized Entry poll() {
+    for (PriorityClass priorityClass : classes) {
+      Lane lane = priorityClass.turns.pollFirst();
+
+      if (lane == null) {
+        continue;
+      }
+
+      Entry entry = lane.entries.pollFirst();
+
+      if (lane.entries.isEmpty()) {
+        priorityClass.lanes.remove(lane.owner);
+      } else {
+        priorityClass.turns.addLast(lane);
+      }
+
+      metrics.queuedCommands.decrementAndGet();
+      return entry;
+    }
+
+    return null;
+  }
+
+  void tick() {
+    final long budget = settings.getQueueTickBudgetNanos();
+    final long start = System.nanoTime();
+
+    Entry entry;
+
+    while ((entry = poll()) != null) {
+      long waited = System.nanoTime() - entry.enqueued;
+      metrics.queueWaitNanos.add(waited);
+      metrics.maxQueueWaitNanos.accumulate(waited);
+      metrics.executedQueuedCommands.increment();
+
+      // On region-threaded servers, the queue runs on the global region, so
+      // the command must be handed to the region that owns its source
+      if (RegionAccess.ownsSource(entry.stack)) {
+        execute(entry.stack, entry.command);
+      } else {
+        CommandSourceStack stack = entry.stack;
+        String command = entry.command;
+        RegionAccess.execute(plugin, stack, () -> execute(stack, command));
+      }
+
+      // At least one command is executed each tick, even if the budget is
+      // smaller than the time it takes to execute a single command
+      if (budget > 0 && System.nanoTime() - start >= budget) {
+        break;
+      }
+    }
+  }
+
+  static void execute(CommandSourceStack stack, String command) {
+    DedicatedServer.getServer().getCommands().dispatchServerCommand(stack, command);
+  }
+
+  private record Entry(CommandSourceStack stack, String command, long enqueued) {
+
+  }
+
+  private static class PriorityClass {
+    private final Map<Plugin, Lane> lanes = new HashMap<>();
+    private final ArrayDeque<Lane> turns = new ArrayDeque<>();
+  }
+
+  private static class Lane {
+    private final Plugin owner;
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    Lane(Plugin owner) {
+      this.owner = owner;
+    }
+  }
+}
@@ -17,6 +17,7 @@ import net.forthecrown.grenadier.CommandSource;
 import net.forthecrown.grenadier.Grenadier;
 import net.forthecrown.grenadier.GrenadierCommandNode;
 import net.forthecrown.grenadier.PermissionLevel;
+import net.forthecrown.grenadier.SourceSnapshot;
 import net.forthecrown.grenadier.types.CoordinateSuggestion;
 import net.forthecrown.grenadier.types.CoordinateSuggestions;
 import net.kyori.adventure.audience.Audience;
@@ -94,31 +95,31 @@ class CommandSourceImpl implements CommandSource {
 
   @Override
   public CommandSender asBukkit() {
-    if (stack.getEntity() == null) {
+    if (getStack().getEntity() == null) {
       return output();
     }
 
-    return stack.getEntity().getBukkitEntity();
+    return getStack().getEntity().getBukkitEntity();
   }
 
   @Override
   public CommandSender output() {
-    return stack.getBukkitSender();
+    return getStack().getBukkitSender();
   }
 
   @Override
   public Component displayName() {
-    return Grenadier.fromMessage(stack.getDisplayName());
+    return Grenadier.fromMessage(getStack().getDisplayName());
   }
 
   @Override
   public String textName() {
-    return stack.getTextName();
+    return getStack().getTextName();
   }
 
   @Override
   public Location getLocation() {
-    return stack.getBukkitLocation();
+    return getStack().getBukkitLocation();
   }
 
   @Override
@@ -139,19 +140,19 @@ class CommandSourceImpl implements CommandSource {
 
   @Override
   public @Nullable LookAnchor getAnchor() {
-    return stack.getAnchor() == Anchor.EYES
+    return getStack().getAnchor() == Anchor.EYES
         ? LookAnchor.EYES
         : LookAnchor.FEET;
   }
 
   @Override
   public World getWorld() {
-    return stack.getBukkitWorld();
+    return getStack().getBukkitWorld();
   }
 
   @Override
   public Server getServer() {
-    return stack.getServer().server;
+    return getStack().getServer().server;
   }
 
   @Override
@@ -168,11 +169,19 @@ class CommandSourceImpl implements CommandSource {
 
   @Override
   public PermissionLevel getPermissionLevel() {
+    return PermissionLevel.values()[permissionLevel(getStack())];
+  }
+
+  /**
+   * Reads a stack's vanilla permission level
+   * @param stack Stack to read
+   * @return Permission level, or {@code 0}, if it couldn't be read
+   */
+  static int permissionLevel(CommandSourceStack stack) {
     try {
-      int level = permissionLevel.getInt(stack);
-      return PermissionLevel.values()[level];
+      return permissionLevel.getInt(stack);
     } catch (ReflectiveOperationException exc) {
-      return PermissionLevel.ALL;
+      return 0;
     }
   }
 
@@ -229,7 +238,7 @@ class CommandSourceImpl implements CommandSource {
 
   @Override
   public boolean shouldInformAdmins() {
-    return stack.source.shouldInformAdmins();
+    return getStack().source.shouldInformAdmins();
   }
 
   @Override
@@ -238,6 +247,17 @@ class CommandSourceImpl implements CommandSource {
       return null;
     }
 
+    // Ray tracing reads the world, so it has to happen on the thread that
+    // owns the player
+    return RegionAccess.callOwned(
+        Grenadier.plugin(),
+        getStack(),
+        this::rayTraceCords,
+        null
+    );
+  }
+
+  private @Nullable CoordinateSuggestion rayTraceCords() {
     var target = asPlayerOrNull().rayTraceBlocks(5);
 
     if (target == null) {
@@ -273,6 +293,15 @@ class CommandSourceImpl implements CommandSource {
       return Collections.emptyList();
     }
 
+    return RegionAccess.callOwned(
+        Grenadier.plugin(),
+        getStack(),
+        this::rayTraceEntities,
+        Collections.emptyList()
+    );
+  }
+
+  private Collection<String> rayTraceEntities() {
     Player player = asPlayerOrNull();
 
     float maxDistance = player.getGameMode() == GameMode.CREATIVE
@@ -298,63 +327,63 @@ class CommandSourceImpl implements CommandSource {
 
   @Override
   public boolean isSilent() {
-    return stack.isSilent();
+    return getStack().isSilent();
   }
 
   @Override
   public boolean acceptsSuccessMessage() {
-    return stack.source.acceptsSuccess();
+    return getStack().source.acceptsSuccess();
   }
 
   @Override
   public boolean acceptsFailureMessage() {
-    return stack.source.acceptsFailure();
+    return getStack().source.acceptsFailure();
   }
 
   @Override
   public CommandSource silent() {
-    return with(stack.withSuppressedOutput());
+    return with(getStack().withSuppressedOutput());
   }
 
   @Override
   public CommandSource withPosition(@NotNull Vector vector) {
     Objects.requireNonNull(vector, "Null position");
-    return with(stack.withPosition(CraftVector.toNMS(vector)));
+    return with(getStack().withPosition(CraftVector.toNMS(vector)));
   }
 
   @Override
   public CommandSource withWorld(@NotNull World world) {
     Objects.requireNonNull(world, "Null world");
-    return with(stack.withLevel(((CraftWorld) world).getHandle()));
+    return with(getStack().withLevel(((CraftWorld) world).getHandle()));
   }
 
   @Override
   public CommandSource facing(@NotNull Vector vector) {
     Objects.requireNonNull(vector, "Null vector");
-    return with(stack.facing(CraftVector.toNMS(vector)));
+    return with(getStack().facing(CraftVector.toNMS(vector)));
   }
 
   @Override
   public CommandSource withRotation(float yaw, float pitch) {
-    return with(stack.withRotation(new Vec2(yaw, pitch)));
+    return with(getStack().withRotation(new Vec2(yaw, pitch)));
   }
 
   @Override
   public CommandSource withOutput(@NotNull CommandSender sender) {
     Objects.requireNonNull(sender, "Null sender");
-    return with(stack.withSource(VanillaCommandWrapper.getListener(sender).source));
+    return with(getStack().withSource(VanillaCommandWrapper.getListener(sender).source));
   }
 
   @Override
   public CommandSource withEntity(@NotNull Entity entity) {
     Objects.requireNonNull(entity, "Null entity");
-    return with(stack.withEntity(((CraftEntity) entity).getHandle()));
+    return with(getStack().withEntity(((CraftEntity) entity).getHandle()));
   }
 
   @Override
   public CommandSource withPermissionLevel(@NotNull PermissionLevel level) {
     Objects.requireNonNull(level, "Null permission level");
-    return with(stack.withPermission(level.ordinal()));
+    return with(getStack().withPermission(level.ordinal()));
   }
 
   @Override
@@ -362,11 +391,11 @@ class CommandSourceImpl implements CommandSource {
     Objects.requireNonNull(consumer, "Null callback");
 
     if (this.consumer == null) {
-      return with(stack, consumer);
+      return with(getStack(), consumer);
     }
 
     return with(
-        stack,
+        getStack(),
 
         (context, success, result) -> {
           this.consumer.onCommandComplete(context, success, result);
@@ -375,6 +404,24 @@ class CommandSourceImpl implements CommandSource {
     );
   }
 
+  /**
+   * Copies another source's current node and result consumer to this source
+   * @param source Source to copy from
+   */
+  void inherit(CommandSource source) {
+    this.currentNode = source.getCurrentNode();
+
+    if (source instanceof CommandSourceImpl impl) {
+      this.consumer = impl.consumer;
+    } else {
+      this.consumer = source::onCommandComplete;
+    }
+  }
+
+  boolean hasConsumer() {
+    return consumer != null;
+  }
+
   @Override
   public void onCommandComplete(CommandContext<CommandSource> context,
                                 boolean success,
@@ -389,6 +436,11 @@ class CommandSourceImpl implements CommandSource {
 
   @Override
   public boolean overrideSelectorPermissions() {
-    return stack.bypassSelectorPermissions;
+    return getStack().bypassSelectorPermissions;
+  }
+
+  @Override
+  public SourceSnapshot snapshot() {
+    return SourceSnapshotImpl.create(this);
   }
-}
\ No newline at end of file
+}
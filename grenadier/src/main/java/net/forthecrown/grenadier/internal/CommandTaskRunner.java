@@ -0,0 +1,303 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.CommandTask;
+import net.forthecrown.grenadier.CommandTaskHandle;
+import net.forthecrown.grenadier.SyntaxExceptions;
+import net.kyori.adventure.text.Component;
+import net.minecraft.commands.CommandSourceStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs {@link CommandTask}s across ticks.
+ * <p>
+ * Each tick, tasks take turns performing a single step until the task tick
+ * budget runs out. Steps run on the thread that owns the task's source. On a
+ * regular server that's the main thread for every task. On a region-threaded
+ * server each task is handed to its source's region every tick, and since
+ * regions tick in parallel, each task gets its own budget
+ */
+class CommandTaskRunner {
+
+  private final GrenadierProviderImpl provider;
+
+  // Read and added to from any thread, run() may be called from region
+  // threads while the global tick iterates the deque
+  private final ConcurrentLinkedDeque<Handle> turns = new ConcurrentLinkedDeque<>();
+
+  private ScheduledTask task;
+  private Plugin plugin;
+
+  public CommandTaskRunner(GrenadierProviderImpl provider) {
+    this.provider = provider;
+  }
+
+  public void start(Plugin plugin) {
+    stop();
+    this.plugin = plugin;
+    task = RegionAccess.repeat(plugin, this::tick);
+  }
+
+  public void stop() {
+    if (task == null) {
+      return;
+    }
+
+    task.cancel();
+    task = null;
+  }
+
+  public boolean isRunning() {
+    return task != null && !task.isCancelled();
+  }
+
+  public Collection<CommandTaskHandle> getRunning() {
+    return List.copyOf(turns);
+  }
+
+  public CommandTaskHandle run(
+      CommandSource source,
+      CommandTask task,
+      String input,
+      @Nullable Plugin owner
+  ) {
+    Handle handle = new Handle(source, task, input, owner);
+
+    // Nothing to drive the task across ticks with, so run it to completion
+    if (!isRunning()) {
+      while (!handle.isDone()) {
+        step(handle);
+      }
+
+      return handle;
+    }
+
+    turns.addLast(handle);
+    return handle;
+  }
+
+  /**
+   * Cancels all tasks started by a plugin. Each task is finished with
+   * {@code cancelled} set to {@code true} before its next step
+   *
+   * @param owner Plugin whose tasks to cancel
+   */
+  public void cancel(Plugin owner) {
+    for (Handle handle : turns) {
+      if (handle.owner == owner) {
+        handle.cancel();
+      }
+    }
+  }
+
+  /**
+   * Finishes all running tasks with {@code cancelled} set to {@code true}.
+   * Called after the runner has stopped, so the tasks are finished
+   * immediately, on the calling thread
+   */
+  public void cancelAll() {
+    Handle handle;
+
+    while ((handle = turns.pollFirst()) != null) {
+      handle.cancel();
+      step(handle);
+    }
+  }
+
+  void tick() {
+    if (turns.isEmpty()) {
+      return;
+    }
+
+    final long budget = provider.getSettings().getTaskTickBudgetNanos();
+
+    if (RegionAccess.REGIONISED) {
+      tickRegions(budget);
+      return;
+    }
+
+    final int interval = provider.getSettings().getTaskProgressInterval();
+    final long start = System.nanoTime();
+
+    if (interval > 0) {
+      for (Handle handle : turns) {
+        if (++handle.ticks % interval == 0) {
+          sendProgress(handle);
+        }
+      }
+    }
+
+    Handle handle;
+    int remaining = turns.size();
+
+    // Only poll the tasks that were queued when the tick started, tasks
+    // started during the tick wait for the next one
+    while (remaining-- > 0 && (handle = turns.pollFirst()) != null) {
+      step(handle);
+
+      if (!handle.isDone()) {
+        turns.addLast(handle);
+      }
+
+      // Like the command queue, always make some progress, even if a single
+      // step takes longer than the budget
+      if (budget > 0 && System.nanoTime() - start >= budget) {
+        break;
+      }
+    }
+  }
+
+  private void tickRegions(long budget) {
+    final int interval = provider.getSettings().getTaskProgressInterval();
+
+    for (Handle handle : turns) {
+      if (handle.scheduled) {
+        continue;
+      }
+
+      handle.scheduled = true;
+
+      RegionAccess.execute(plugin, handle.stack, () -> {
+        handle.scheduled = false;
+
+        if (interval > 0 && ++handle.ticks % interval == 0) {
+          sendProgress(handle);
+        }
+
+        long start = System.nanoTime();
+
+        do {
+          step(handle);
+        } while (!handle.isDone() && (budget <= 0 || System.nanoTime() - start < budget));
+
+        if (handle.isDone()) {
+          turns.remove(handle);
+        }
+      });
+    }
+  }
+
+  private void sendProgress(Handle handle) {
+    try {
+      Component progress = handle.task.progress();
+
+      if (progress != null) {
+        handle.source.sendMessage(progress);
+      }
+    } catch (Throwable t) {
+      fail(handle, t);
+    }
+  }
+
+  private void step(Handle handle) {
+    if (handle.done) {
+      return;
+    }
+
+    if (handle.cancelled) {
+      finish(handle, true);
+      return;
+    }
+
+    try {
+      handle.steps++;
+
+      if (!handle.task.step()) {
+        finish(handle, false);
+      }
+    } catch (Throwable t) {
+      fail(handle, t);
+    }
+  }
+
+  private void finish(Handle handle, boolean cancelled) {
+    handle.done = true;
+
+    try {
+      handle.task.onFinish(handle.source, cancelled);
+    } catch (Throwable t) {
+      fail(handle, t);
+    }
+  }
+
+  private void fail(Handle handle, Throwable t) {
+    handle.done = true;
+    turns.remove(handle);
+
+    if (t instanceof CommandSyntaxException exc) {
+      SyntaxExceptions.handle(exc, handle.source);
+      return;
+    }
+
+    provider.getExceptionHandler()
+        .onCommandException(new StringReader(handle.input), t, handle.source);
+  }
+
+  private static class Handle implements CommandTaskHandle {
+
+    private final CommandSource source;
+    private final CommandSourceStack stack;
+    private final CommandTask task;
+    private final String input;
+    private final Plugin owner;
+
+    private volatile long steps;
+    private volatile int ticks;
+
+    private volatile boolean done;
+    private volatile boolean cancelled;
+
+    // Set while a step is waiting to run on the source's region
+    private volatile boolean scheduled;
+
+    Handle(CommandSource source, CommandTask task, String input, Plugin owner) {
+      this.source = source;
+      this.stack = InternalUtil.unwrap(source);
+      this.task = task;
+      this.input = input;
+      this.owner = owner;
+    }
+
+    @Override
+    public CommandSource getSource() {
+      return source;
+    }
+
+    @Override
+    public CommandTask getTask() {
+      return task;
+    }
+
+    @Override
+    public long getSteps() {
+      return steps;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public boolean cancel() {
+      if (done || cancelled) {
+        return false;
+      }
+
+      cancelled = true;
+      return true;
+    }
+  }
+}
@@ -205,6 +205,11 @@ class ExceptionProviderImpl implements ExceptionProvider {
     return translatableWithContext("team.notFound", reader, word);
   }
 
+  @Override
+  public CommandSyntaxException unknownPlayer(String name, StringReader reader) {
+    return translatableWithContext("argument.player.unknown", reader);
+  }
+
   @Override
   public <T extends CommandSender> CommandSyntaxException sourceMustBe(
       Class<T> clazz
@@ -346,6 +351,11 @@ class ExceptionProviderImpl implements ExceptionProvider {
     return create("Option '%s' requires options %s", label, joined);
   }
 
+  @Override
+  public CommandSyntaxException inputTooLong(int length, int maxLength) {
+    return create("Command input too long (%s characters, max %s)", length, maxLength);
+  }
+
   private String joinOptions(Collection<Option> options) {
     StringJoiner joiner = new StringJoiner("', '", "'", "'");
     for (Option option : options) {
@@ -0,0 +1,137 @@
+package net.forthecrown.grenadier.internal;
+
+import io.papermc.paper.entity.LookAnchor;
+import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.PermissionLevel;
+import net.kyori.adventure.text.Component;
+import net.minecraft.commands.CommandSourceStack;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.craftbukkit.entity.CraftEntity;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Command source that's moved across targets during forked execution,
+ * instead of creating a new source for every target.
+ * <p>
+ * Behaves like the base source after {@code /execute as <target>}. The target's
+ * command source stack is only created if something requires it. Accessors
+ * that depend on the target are answered from the target entity directly,
+ * and ones that {@code execute as} doesn't change, like the output, location
+ * and permission level, are answered from the base source.
+ * <p>
+ * The cursor has the original source's current node and result consumer, so
+ * admin broadcasts are filtered by the node's permission, and results are
+ * reported to the original source's callbacks.
+ */
+class ForkCursorSource extends CommandSourceImpl {
+
+  private final CommandSourceStack base;
+  private final CommandSourceImpl baseSource;
+
+  private Entity target;
+  private CommandSourceStack targetStack;
+
+  public ForkCursorSource(CommandSource original) {
+    this(InternalUtil.unwrap(original));
+    inherit(original);
+    baseSource.inherit(original);
+  }
+
+  private ForkCursorSource(CommandSourceStack base) {
+    super(base);
+    this.base = base;
+    this.baseSource = new CommandSourceImpl(base);
+  }
+
+  void moveTo(Entity target) {
+    this.target = target;
+    this.targetStack = null;
+  }
+
+  @Override
+  public CommandSourceStack getStack() {
+    if (target == null) {
+      return base;
+    }
+
+    if (targetStack == null) {
+      targetStack = base.withEntity(((CraftEntity) target).getHandle());
+    }
+
+    return targetStack;
+  }
+
+  @Override
+  public CommandSender asBukkit() {
+    return target == null ? super.asBukkit() : target;
+  }
+
+  @Override
+  public Component displayName() {
+    return target == null ? super.displayName() : target.name();
+  }
+
+  @Override
+  public String textName() {
+    return target == null ? super.textName() : target.getName();
+  }
+
+  @Override
+  public CommandSender output() {
+    return baseSource.output();
+  }
+
+  @Override
+  public Location getLocation() {
+    return baseSource.getLocation();
+  }
+
+  @Override
+  public @Nullable LookAnchor getAnchor() {
+    return baseSource.getAnchor();
+  }
+
+  @Override
+  public World getWorld() {
+    return baseSource.getWorld();
+  }
+
+  @Override
+  public Server getServer() {
+    return baseSource.getServer();
+  }
+
+  @Override
+  public PermissionLevel getPermissionLevel() {
+    return baseSource.getPermissionLevel();
+  }
+
+  @Override
+  public boolean shouldInformAdmins() {
+    return baseSource.shouldInformAdmins();
+  }
+
+  @Override
+  public boolean isSilent() {
+    return baseSource.isSilent();
+  }
+
+  @Override
+  public boolean acceptsSuccessMessage() {
+    return baseSource.acceptsSuccessMessage();
+  }
+
+  @Override
+  public boolean acceptsFailureMessage() {
+    return baseSource.acceptsFailureMessage();
+  }
+
+  @Override
+  public boolean overrideSelectorPermissions() {
+    return baseSource.overrideSelectorPermissions();
+  }
+}
@@ -0,0 +1,94 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.context.CommandContextBuilder;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import net.forthecrown.grenadier.CommandSource;
+import org.bukkit.Bukkit;
+
+/**
+ * Single-entry, per-thread cache of the last Grenadier command parsed from a
+ * translated vanilla command.
+ * <p>
+ * When {@code /execute} forks, the translated command is executed once for
+ * every forked source, each time with the same input string. Instead of
+ * re-parsing the input for each source, the first parse is reused with only
+ * the source swapped out. Grenadier's arguments resolve source-relative values,
+ * like selectors and relative positions, when they're used, not when they're
+ * parsed, so the parse result itself doesn't depend on the source.
+ * <p>
+ * Entries are matched by the identity of the input string, the start of the
+ * Grenadier command within it and the current tick, so separately executed
+ * commands never share an entry, even if their input is equal.
+ */
+final class ForkParseCache {
+
+  private static final ThreadLocal<ForkParseCache> CACHE
+      = ThreadLocal.withInitial(ForkParseCache::new);
+
+  private String input;
+  private int start;
+  private int tick;
+  private ParseResults<CommandSource> results;
+
+  private ForkParseCache() {}
+
+  /**
+   * Gets a cached parse result for the specified input, rebound to the
+   * specified source
+   *
+   * @return Rebound parse results, or {@code null}, if the input isn't cached,
+   *         or the source can't use one of the parsed nodes
+   */
+  static ParseResults<CommandSource> get(String input, int start, CommandSource source) {
+    ForkParseCache cache = CACHE.get();
+
+    if (cache.results == null
+        || cache.input != input
+        || cache.start != start
+        || cache.tick != Bukkit.getCurrentTick()
+    ) {
+      return null;
+    }
+
+    return rebind(cache.results, source);
+  }
+
+  static void put(String input, int start, ParseResults<CommandSource> results) {
+    ForkParseCache cache = CACHE.get();
+
+    // Failed parses are not cached, each source gets to see its own error
+    if (!results.getExceptions().isEmpty() || results.getReader().canRead()) {
+      cache.results = null;
+      cache.input = null;
+      return;
+    }
+
+    cache.input = input;
+    cache.start = start;
+    cache.tick = Bukkit.getCurrentTick();
+    cache.results = results;
+  }
+
+  private static ParseResults<CommandSource> rebind(
+      ParseResults<CommandSource> results,
+      CommandSource source
+  ) {
+    CommandContextBuilder<CommandSource> context = results.getContext();
+
+    // Requirements were tested against the source that parsed the input
+    for (var c = context; c != null; c = c.getChild()) {
+      for (ParsedCommandNode<CommandSource> node : c.getNodes()) {
+        if (!node.getNode().canUse(source)) {
+          return null;
+        }
+      }
+    }
+
+    return new ParseResults<>(
+        context.copy().withSource(source),
+        results.getReader(),
+        results.getExceptions()
+    );
+  }
+}
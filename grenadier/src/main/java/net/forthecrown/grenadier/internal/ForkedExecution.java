@@ -0,0 +1,79 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.Objects;
+import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.ForkedCommand;
+import net.forthecrown.grenadier.ForkedCommand.TargetSupplier;
+import org.bukkit.entity.Entity;
+
+final class ForkedExecution {
+  private ForkedExecution() {}
+
+  static Command<CommandSource> forEach(TargetSupplier supplier, ForkedCommand command) {
+    Objects.requireNonNull(supplier, "Null target supplier");
+    Objects.requireNonNull(command, "Null command");
+
+    return new ForkCommand(supplier, command);
+  }
+
+  /**
+   * Command that runs a {@link ForkedCommand} for each target.
+   * <p>
+   * Like {@code execute as}, each target's result is reported to the source's
+   * result consumer, so the dispatcher doesn't report this command's own
+   * result
+   */
+  static final class ForkCommand implements Command<CommandSource> {
+
+    private final TargetSupplier supplier;
+    private final ForkedCommand command;
+
+    ForkCommand(TargetSupplier supplier, ForkedCommand command) {
+      this.supplier = supplier;
+      this.command = command;
+    }
+
+    @Override
+    public int run(CommandContext<CommandSource> context) throws CommandSyntaxException {
+      ForkCursorSource cursor = new ForkCursorSource(context.getSource());
+
+      // Results are reported with a context whose source is the cursor, so
+      // consumers see the current target. Only created if there's a consumer
+      CommandContext<CommandSource> cursorContext
+          = cursor.hasConsumer() ? context.copyFor(cursor) : null;
+
+      CommandSyntaxException failure = null;
+      int successes = 0;
+
+      for (Entity target : supplier.getTargets(context)) {
+        cursor.moveTo(target);
+
+        try {
+          int result = command.run(context, cursor);
+          successes++;
+
+          if (cursorContext != null) {
+            cursor.onCommandComplete(cursorContext, true, result);
+          }
+        } catch (CommandSyntaxException exc) {
+          failure = exc;
+
+          if (cursorContext != null) {
+            cursor.onCommandComplete(cursorContext, false, 0);
+          }
+        }
+      }
+
+      // Forks usually swallow failures, but if nothing succeeded, the error
+      // would otherwise never be shown
+      if (successes == 0 && failure != null) {
+        throw failure;
+      }
+
+      return successes;
+    }
+  }
+}
@@ -1,12 +1,17 @@
 package net.forthecrown.grenadier.internal;
 
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent.Completion;
 import com.google.common.base.Strings;
+import com.mojang.brigadier.Message;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import net.forthecrown.grenadier.CommandSource;
 import net.forthecrown.grenadier.Grenadier;
 import net.forthecrown.grenadier.GrenadierCommandNode;
@@ -64,30 +69,164 @@ class GrenadierBukkitWrapper extends Command implements PluginIdentifiableComman
                                            @NotNull String alias,
                                            @NotNull String[] args
   ) throws IllegalArgumentException {
-    CommandSource source = Grenadier.createSource(sender, treeRoot);
     StringReader reader = InternalUtil.bukkitReader(alias, args);
 
+    if (!InternalUtil.allowSuggestionInput(reader)
+        || !InternalUtil.provider().getRateLimiter().tryAcquire(sender, reader.getString())
+    ) {
+      return new ArrayList<>();
+    }
+
+    CommandSource source = Grenadier.createSource(sender, treeRoot);
     CommandDispatcher<CommandSource> dispatcher = Grenadier.dispatcher();
+
+    final long parseStart = System.nanoTime();
     ParseResults<CommandSource> results = dispatcher.parse(reader, source);
 
     List<String> result = new ArrayList<>();
 
-    dispatcher.getCompletionSuggestions(results).thenAccept(suggestions -> {
-      String input = reader.getString();
+    if (!InternalUtil.withinParseBudget(parseStart)) {
+      return result;
+    }
 
-      for (Suggestion suggestion : suggestions.getList()) {
-        String before = input.substring(0, suggestion.getRange().getStart());
+    Suggestions suggestions = dispatcher.getCompletionSuggestions(results).getNow(null);
 
-        if (before.endsWith(" ")) {
-          result.add(suggestion.getText());
-        } else {
-          int lastSpace = before.lastIndexOf(' ');
-          String prefix = before.substring(lastSpace + 1);
-          result.add(prefix + suggestion.getText());
-        }
-      }
+    if (suggestions == null) {
+      return result;
+    }
+
+    suggestions = InternalUtil.limitSuggestions(suggestions);
+
+    forEachCompletion(reader.getString(), suggestions, (text, suggestion) -> {
+      result.add(text);
     });
 
     return result;
   }
-}
\ No newline at end of file
+
+  /**
+   * Handles an async tab complete event, if the buffer is input for a
+   * Grenadier command.
+   * <p>
+   * Input is read directly from the event's buffer. If the command's
+   * suggestions are not completed immediately, the event is left unhandled,
+   * and the server falls back to the regular, synchronous, tab completion.
+   *
+   * @param provider Grenadier provider
+   * @param event Tab complete event
+   */
+  static void completeAsync(GrenadierProviderImpl provider, AsyncTabCompleteEvent event) {
+    if (event.isHandled() || !event.isCommand()) {
+      return;
+    }
+
+    String buffer = event.getBuffer();
+    int labelStart = buffer.startsWith("/") ? 1 : 0;
+    int labelEnd = buffer.indexOf(' ', labelStart);
+
+    // Still typing the label, leave that for Bukkit to complete
+    if (labelEnd == -1) {
+      return;
+    }
+
+    // Skip the fallback prefix, eg: '/grenadier:command'
+    int namespaceEnd = buffer.lastIndexOf(':', labelEnd);
+    if (namespaceEnd >= labelStart) {
+      labelStart = namespaceEnd + 1;
+    }
+
+    CommandDispatcher<CommandSource> dispatcher = provider.getDispatcher();
+    GrenadierRootNode root = (GrenadierRootNode) dispatcher.getRoot();
+    GrenadierCommandData data = root.getData(buffer.substring(labelStart, labelEnd));
+
+    if (data == null) {
+      return;
+    }
+
+    CommandSender sender = event.getSender();
+    StringReader reader = new StringReader(buffer);
+
+    if (!InternalUtil.allowSuggestionInput(reader)
+        || !provider.getRateLimiter().tryAcquire(sender, buffer)
+    ) {
+      event.completions(new ArrayList<>());
+      event.setHandled(true);
+      return;
+    }
+
+    CommandSource source = Grenadier.createSource(sender, data.getNode());
+
+    final long parseStart = System.nanoTime();
+    ParseResults<CommandSource> results = dispatcher.parse(reader, source);
+
+    if (!InternalUtil.withinParseBudget(parseStart)) {
+      event.completions(new ArrayList<>());
+      event.setHandled(true);
+      return;
+    }
+
+    Suggestions suggestions = dispatcher.getCompletionSuggestions(results).getNow(null);
+
+    // Not handled, Bukkit falls back to tabComplete(), which takes its own
+    // token for this request
+    if (suggestions == null) {
+      provider.getRateLimiter().refund(sender);
+      return;
+    }
+
+    suggestions = InternalUtil.limitSuggestions(suggestions);
+
+    List<Completion> completions = new ArrayList<>(suggestions.getList().size());
+
+    forEachCompletion(buffer, suggestions, (text, suggestion) -> {
+      Message tooltip = suggestion.getTooltip();
+
+      if (tooltip == null) {
+        completions.add(Completion.completion(text));
+      } else {
+        completions.add(Completion.completion(text, Grenadier.fromMessage(tooltip)));
+      }
+    });
+
+    event.completions(completions);
+    event.setHandled(true);
+  }
+
+  /**
+   * Converts brigadier suggestions to Bukkit completions, which replace the
+   * last word of the input.
+   * <p>
+   * If a suggestion doesn't start at the beginning of a word, the part of the
+   * word before it is prepended to it. That prefix is only created once for
+   * each distinct suggestion start.
+   *
+   * @param input Suggestion input
+   * @param suggestions Suggestions
+   * @param consumer Completion consumer, given the completion text and the
+   *                 suggestion it was created from
+   */
+  static void forEachCompletion(
+      String input,
+      Suggestions suggestions,
+      BiConsumer<String, Suggestion> consumer
+  ) {
+    int prefixStart = -1;
+    String prefix = "";
+
+    for (Suggestion suggestion : suggestions.getList()) {
+      int start = suggestion.getRange().getStart();
+
+      if (start != prefixStart) {
+        int wordStart = input.lastIndexOf(' ', start - 1) + 1;
+        prefix = input.substring(wordStart, start);
+        prefixStart = start;
+      }
+
+      if (prefix.isEmpty()) {
+        consumer.accept(suggestion.getText(), suggestion);
+      } else {
+        consumer.accept(prefix + suggestion.getText(), suggestion);
+      }
+    }
+  }
+}
@@ -1,8 +1,14 @@
 package net.forthecrown.grenadier.internal;
 
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 
 public class GrenadierListener implements Listener {
 
@@ -14,7 +20,41 @@ public class GrenadierListener implements Listener {
 
   @EventHandler(ignoreCancelled = true)
   public void onServerResourcesReloaded(ServerResourcesReloadedEvent event) {
+    RegistryKeyIndex.invalidateAll();
     provider.reregisterAll();
   }
 
+  @EventHandler(ignoreCancelled = true)
+  public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+    if (!provider.getSettings().isAsyncTabCompletion()) {
+      return;
+    }
+
+    GrenadierBukkitWrapper.completeAsync(provider, event);
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onServerTickEnd(ServerTickEndEvent event) {
+    provider.getSelectorCache().clear();
+  }
+
+  @EventHandler(priority = EventPriority.LOWEST)
+  public void onPlayerJoin(PlayerJoinEvent event) {
+    provider.getPlayerNames().add(event.getPlayer());
+
+    provider.getOfflinePlayers()
+        .add(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPluginDisable(PluginDisableEvent event) {
+    provider.onPluginDisable(event.getPlugin());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    provider.getRateLimiter().remove(event.getPlayer().getUniqueId());
+    provider.getPlayerNames().remove(event.getPlayer());
+  }
+
 }
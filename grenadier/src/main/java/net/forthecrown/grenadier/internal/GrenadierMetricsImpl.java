@@ -0,0 +1,79 @@
+package net.forthecrown.grenadier.internal;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import net.forthecrown.grenadier.GrenadierMetrics;
+
+class GrenadierMetricsImpl implements GrenadierMetrics {
+
+  final LongAdder inputLengthRejections = new LongAdder();
+  final LongAdder parseBudgetRejections = new LongAdder();
+  final LongAdder rateLimitedSuggestions = new LongAdder();
+
+  final AtomicInteger queuedCommands = new AtomicInteger();
+  final LongAdder executedQueuedCommands = new LongAdder();
+  final LongAdder queueWaitNanos = new LongAdder();
+  final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0L);
+
+  final LongAdder selectorCacheHits = new LongAdder();
+  final LongAdder selectorCacheMisses = new LongAdder();
+
+  @Override
+  public long getInputLengthRejections() {
+    return inputLengthRejections.sum();
+  }
+
+  @Override
+  public long getParseBudgetRejections() {
+    return parseBudgetRejections.sum();
+  }
+
+  @Override
+  public long getRateLimitedSuggestions() {
+    return rateLimitedSuggestions.sum();
+  }
+
+  @Override
+  public int getQueuedCommands() {
+    return queuedCommands.get();
+  }
+
+  @Override
+  public long getExecutedQueuedCommands() {
+    return executedQueuedCommands.sum();
+  }
+
+  @Override
+  public Duration getTotalQueueWait() {
+    return Duration.ofNanos(queueWaitNanos.sum());
+  }
+
+  @Override
+  public Duration getMaxQueueWait() {
+    return Duration.ofNanos(maxQueueWaitNanos.get());
+  }
+
+  @Override
+  public long getSelectorCacheHits() {
+    return selectorCacheHits.sum();
+  }
+
+  @Override
+  public long getSelectorCacheMisses() {
+    return selectorCacheMisses.sum();
+  }
+
+  @Override
+  public void reset() {
+    inputLengthRejections.reset();
+    parseBudgetRejections.reset();
+    rateLimitedSuggestions.reset();
+    executedQueuedCommands.reset();
+    queueWaitNanos.reset();
+    maxQueueWaitNanos.reset();
+    selectorCacheHits.reset();
+    selectorCacheMisses.reset();
+  }
+}
@@ -1,16 +1,28 @@
 package net.forthecrown.grenadier.internal;
 
+import com.google.common.base.Preconditions;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
+import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import io.papermc.paper.command.brigadier.MessageComponentSerializer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import lombok.Getter;
+import net.forthecrown.grenadier.CommandBatchDispatchEvent;
 import net.forthecrown.grenadier.CommandExceptionHandler;
+import net.forthecrown.grenadier.CommandPriority;
 import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.CommandTask;
+import net.forthecrown.grenadier.CommandTaskHandle;
 import net.forthecrown.grenadier.GrenadierProvider;
+import net.forthecrown.grenadier.GrenadierSettings;
 import net.forthecrown.grenadier.SyntaxExceptions;
 import net.kyori.adventure.text.Component;
 import net.minecraft.commands.CommandSourceStack;
@@ -40,12 +52,36 @@ public class GrenadierProviderImpl implements GrenadierProvider {
   private final ExceptionProviderImpl exceptionProvider
       = new ExceptionProviderImpl();
 
+  private final GrenadierSettings settings = new GrenadierSettings();
+
+  private final GrenadierMetricsImpl metrics = new GrenadierMetricsImpl();
+
+  private final SuggestionRateLimiter rateLimiter
+      = new SuggestionRateLimiter(settings, metrics);
+
+  private final CommandQueue commandQueue = new CommandQueue(settings, metrics);
+
+  private final SelectorCache selectorCache = new SelectorCache(settings, metrics);
+
+  private final PlayerNameIndex playerNames = new PlayerNameIndex();
+
+  private final OfflinePlayerIndex offlinePlayers = new OfflinePlayerIndex();
+
+  private final CommandTaskRunner taskRunner = new CommandTaskRunner(this);
+
+  private final AsyncCommandRunner asyncRunner = new AsyncCommandRunner(this);
+
   private GrenadierListener listener;
 
   public GrenadierProviderImpl() {
     this.dispatcher = new CommandDispatcher<>(new GrenadierRootNode(this));
 
     dispatcher.setConsumer((context, success, result) -> {
+      // Forks report each target's result themselves
+      if (context.getCommand() instanceof ForkedExecution.ForkCommand) {
+        return;
+      }
+
       context.getSource().onCommandComplete(context, success, result);
     });
 
@@ -72,7 +108,41 @@ public class GrenadierProviderImpl implements GrenadierProvider {
     if (listener == null) {
       listener = new GrenadierListener(this);
       Bukkit.getPluginManager().registerEvents(listener, plugin);
+      playerNames.rebuild(Bukkit.getOnlinePlayers());
+      offlinePlayers.load(plugin);
     }
+
+    if (!commandQueue.isRunning()) {
+      commandQueue.start(plugin);
+    }
+
+    if (!taskRunner.isRunning()) {
+      taskRunner.start(plugin);
+    }
+  }
+
+  /**
+   * Called when any plugin is disabled, including the plugin Grenadier
+   * belongs to
+   *
+   * @param disabled Disabled plugin
+   */
+  void onPluginDisable(Plugin disabled) {
+    if (disabled != plugin) {
+      commandQueue.cancel(disabled);
+      taskRunner.cancel(disabled);
+      return;
+    }
+
+    commandQueue.stop();
+    commandQueue.cancelAll();
+    taskRunner.stop();
+    taskRunner.cancelAll();
+    asyncRunner.shutdown();
+
+    // Bukkit unregisters the listener along with the plugin, register it
+    // again if the plugin is enabled again
+    listener = null;
   }
 
   @Override
@@ -104,14 +174,28 @@ public class GrenadierProviderImpl implements GrenadierProvider {
     Objects.requireNonNull(source, "Null source");
     Objects.requireNonNull(command, "Null command");
 
-    AsyncCatcher.catchOp("Command execution");
+    CommandSourceStack stack = InternalUtil.unwrap(source);
+
+    // On a region-threaded server, commands must run on the thread that owns
+    // the source, hand the command over to that thread if it's not this one
+    if (RegionAccess.REGIONISED) {
+      if (!RegionAccess.ownsSource(stack)) {
+        Preconditions.checkState(plugin != null,
+            "No plugin set, cannot schedule command on the source's region"
+        );
+
+        RegionAccess.execute(plugin, stack, () -> dispatch(source, command));
+        return 0;
+      }
+    } else {
+      AsyncCatcher.catchOp("Command execution");
+    }
 
     ServerCommandEvent event = new ServerCommandEvent(source.asBukkit(), command);
     if (!event.callEvent()) {
       return 0;
     }
 
-    CommandSourceStack stack = InternalUtil.unwrap(source);
     MinecraftServer server = DedicatedServer.getServer();
     CommandDispatcher<CommandSourceStack> dispatcher = server.getCommands().getDispatcher();
 
@@ -127,13 +211,130 @@ public class GrenadierProviderImpl implements GrenadierProvider {
     return 0;
   }
 
+  @Override
+  public CompletableFuture<Integer> dispatchOwned(CommandSource source, String command) {
+    Objects.requireNonNull(source, "Null source");
+    Objects.requireNonNull(command, "Null command");
+
+    CommandSourceStack stack = InternalUtil.unwrap(source);
+
+    if (RegionAccess.ownsSource(stack)) {
+      return CompletableFuture.completedFuture(dispatch(source, command));
+    }
+
+    Preconditions.checkState(plugin != null,
+        "No plugin set, cannot schedule command on the source's thread"
+    );
+
+    return RegionAccess.schedule(plugin, stack, () -> dispatch(source, command));
+  }
+
+  @Override
+  public CompletableFuture<int[]> dispatchAll(CommandSource source, List<String> commands) {
+    Objects.requireNonNull(source, "Null source");
+    Objects.requireNonNull(commands, "Null commands");
+
+    List<String> batch = List.copyOf(commands);
+
+    if (batch.isEmpty()) {
+      return CompletableFuture.completedFuture(new int[0]);
+    }
+
+    CommandSourceStack stack = InternalUtil.unwrap(source);
+
+    // Same as dispatchOwned(), the whole batch is handed over to the thread
+    // that owns the source, if it's not this one
+    if (RegionAccess.ownsSource(stack)) {
+      return CompletableFuture.completedFuture(executeBatch(source, stack, batch));
+    }
+
+    Preconditions.checkState(plugin != null,
+        "No plugin set, cannot schedule commands on the source's thread"
+    );
+
+    return RegionAccess.schedule(plugin, stack, () -> executeBatch(source, stack, batch));
+  }
+
+  private int[] executeBatch(
+      CommandSource source,
+      CommandSourceStack stack,
+      List<String> batch
+  ) {
+    int[] results = new int[batch.size()];
+
+    CommandBatchDispatchEvent event = new CommandBatchDispatchEvent(source, batch);
+    if (!event.callEvent()) {
+      return results;
+    }
+
+    MinecraftServer server = DedicatedServer.getServer();
+    CommandDispatcher<CommandSourceStack> dispatcher = server.getCommands().getDispatcher();
+
+    // Only exact duplicates share a parse, commands that differ in any way
+    // are parsed separately
+    Map<String, ParseResults<CommandSourceStack>> parsed = new HashMap<>();
+
+    for (int i = 0; i < results.length; i++) {
+      String command = batch.get(i);
+
+      try {
+        ParseResults<CommandSourceStack> parse = parsed.get(command);
+
+        if (parse == null) {
+          parse = dispatcher.parse(command, stack);
+          parsed.put(command, parse);
+        }
+
+        results[i] = dispatcher.execute(parse);
+      } catch (CommandSyntaxException exc) {
+        SyntaxExceptions.handle(exc, source);
+      } catch (Throwable t) {
+        StringReader reader = new StringReader(command);
+        exceptionHandler.onCommandException(reader, t, source);
+      }
+    }
+
+    return results;
+  }
+
   @Override
   public void enqueueCommand(CommandSource source, String command) {
+    enqueueCommand(source, command, CommandPriority.NORMAL);
+  }
+
+  @Override
+  public void enqueueCommand(
+      CommandSource source,
+      String command,
+      CommandPriority priority
+  ) {
     Objects.requireNonNull(source, "Null source");
     Objects.requireNonNull(command, "Null command");
+    Objects.requireNonNull(priority, "Null priority");
 
     CommandSourceStack stack = InternalUtil.unwrap(source);
-    DedicatedServer.getServer().getCommands().dispatchServerCommand(stack, command);
+
+    // Without a plugin there's nothing to run the queue with, fall back to
+    // vanilla's execution queue
+    if (!commandQueue.isRunning()) {
+      CommandQueue.execute(stack, command);
+      return;
+    }
+
+    commandQueue.enqueue(stack, command, priority, InternalUtil.findCallingPlugin());
+  }
+
+  @Override
+  public CommandTaskHandle runTask(CommandSource source, CommandTask task) {
+    Objects.requireNonNull(source, "Null source");
+    Objects.requireNonNull(task, "Null task");
+
+    return taskRunner.run(source, task, "", InternalUtil.findCallingPlugin());
+  }
+
+  @Override
+  public Collection<CommandTaskHandle> getRunningTasks() {
+    return taskRunner.getRunning();
   }
 
   @Override
@@ -1,22 +1,31 @@
 package net.forthecrown.grenadier.internal;
 
-import com.google.common.base.Joiner;
-import com.google.common.collect.Lists;
+import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.context.CommandContextBuilder;
 import com.mojang.brigadier.context.StringRange;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
-import java.util.List;
+import com.mojang.brigadier.suggestion.Suggestions;
+import java.lang.StackWalker.Option;
+import java.lang.StackWalker.StackFrame;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import net.forthecrown.grenadier.AsyncCommand;
 import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.CommandTask;
+import net.forthecrown.grenadier.ForkedCommand;
+import net.forthecrown.grenadier.ForkedCommand.TargetSupplier;
 import net.forthecrown.grenadier.Grenadier;
+import net.forthecrown.grenadier.GrenadierSettings;
+import net.forthecrown.grenadier.IncrementalCommand;
 import net.forthecrown.grenadier.Readers;
 import net.forthecrown.grenadier.SyntaxExceptions;
 import net.forthecrown.nbt.CompoundTag;
@@ -31,6 +40,7 @@ import net.minecraft.world.flag.FeatureFlags;
 import org.apache.logging.log4j.util.StackLocatorUtil;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.PluginClassLoader;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.slf4j.Logger;
 
@@ -40,6 +50,12 @@ public final class InternalUtil {
 
   private static final Logger LOGGER = Grenadier.getLogger();
 
+  private static final StackWalker STACK_WALKER
+      = StackWalker.getInstance(Option.RETAIN_CLASS_REFERENCE);
+
+  private static final String API_PACKAGE = Grenadier.class.getPackageName();
+  private static final String INTERNAL_PACKAGE = InternalUtil.class.getPackageName();
+
   public static final CommandBuildContext CONTEXT
       = CommandBuildContext.simple(
       DedicatedServer.getServer().registryAccess(),
@@ -56,9 +72,26 @@ public final class InternalUtil {
     ParseResults<CommandSourceStack> parseResults
         = dispatcher.parse(reader, stack);
 
-    return dispatcher.getCompletionSuggestions(parseResults);
+    return dispatcher.getCompletionSuggestions(parseResults)
+        .thenApply(InternalUtil::limitSuggestions);
   };
 
+  /**
+   * Cuts suggestions off at {@link GrenadierSettings#getMaxSuggestions()}
+   */
+  public static Suggestions limitSuggestions(Suggestions suggestions) {
+    int max = provider().getSettings().getMaxSuggestions();
+
+    if (max <= 0 || suggestions.getList().size() <= max) {
+      return suggestions;
+    }
+
+    return new Suggestions(
+        suggestions.getRange(),
+        suggestions.getList().subList(0, max)
+    );
+  }
+
   public static <T> RegistryLookup<T> lookup(ResourceKey<? extends Registry<T>> reg) {
     return DedicatedServer.getServer()
         .registryAccess()
@@ -74,8 +107,20 @@ public final class InternalUtil {
   }
 
   public static StringReader bukkitReader(String label, String[] args) {
-    List<String> arguments = Lists.asList(label, args);
-    return new StringReader(Joiner.on(' ').join(arguments));
+    int length = label.length() + args.length;
+
+    for (String arg : args) {
+      length += arg.length();
+    }
+
+    StringBuilder builder = new StringBuilder(length);
+    builder.append(label);
+
+    for (String arg : args) {
+      builder.append(' ').append(arg);
+    }
+
+    return new StringReader(builder.toString());
   }
 
   public static <K, V> Collector<Entry<K, V>, ?, Map<K, V>> mapCollector() {
@@ -98,20 +143,163 @@ public final class InternalUtil {
     };
   }
 
+  public static SelectorCache selectorCache() {
+    return provider().getSelectorCache();
+  }
+
+  public static PlayerNameIndex playerNames() {
+    return provider().getPlayerNames();
+  }
+
+  public static OfflinePlayerIndex offlinePlayers() {
+    return provider().getOfflinePlayers();
+  }
+
+  static GrenadierProviderImpl provider() {
+    return (GrenadierProviderImpl) Grenadier.getProvider();
+  }
+
+  /**
+   * Tests if suggestions should be created for the specified input.
+   * <p>
+   * If the input is longer than {@link GrenadierSettings#getMaxSuggestionInputLength()},
+   * the rejection is counted in the metrics and {@code false} is returned
+   *
+   * @param reader Suggestion input
+   * @return {@code true}, if suggestions should be created,
+   *         {@code false} otherwise
+   */
+  static boolean allowSuggestionInput(StringReader reader) {
+    GrenadierProviderImpl provider = provider();
+    int max = provider.getSettings().getMaxSuggestionInputLength();
+
+    if (reader.getRemainingLength() <= max) {
+      return true;
+    }
+
+    provider.getMetrics().inputLengthRejections.increment();
+    return false;
+  }
+
+  /**
+   * Tests if the player behind the specified {@code stack} is allowed to make
+   * a suggestion request, according to their suggestion rate limit
+   *
+   * @param stack Suggestion request source
+   * @param reader Suggestion input
+   * @return {@code true}, if suggestions should be created,
+   *         {@code false} otherwise
+   */
+  static boolean allowSuggestionRequest(CommandSourceStack stack, StringReader reader) {
+    return provider().getRateLimiter().tryAcquire(stack, reader.getString());
+  }
+
+  /**
+   * Tests if a finished parse that started at {@code startTime} stayed
+   * within the {@link GrenadierSettings#getParseBudget()}, if not, the
+   * caller skips computing suggestions.
+   * <p>
+   * If the budget was exceeded, it's counted in the metrics and {@code false}
+   * is returned
+   *
+   * @param startTime Parse start time, from {@link System#nanoTime()}
+   * @return {@code true}, if the budget was not exceeded,
+   *         {@code false} otherwise
+   */
+  static boolean withinParseBudget(long startTime) {
+    GrenadierProviderImpl provider = provider();
+    long elapsed = System.nanoTime() - startTime;
+
+    if (!provider.getSettings().exceedsParseBudget(elapsed)) {
+      return true;
+    }
+
+    provider.getMetrics().parseBudgetRejections.increment();
+    return false;
+  }
+
   public static int execute(CommandSource source, StringReader reader) {
     final StringReader startReader = Readers.copy(reader);
+    ParseResults<CommandSource> results = parse(source, reader);
 
+    if (results == null) {
+      return 0;
+    }
+
+    return execute(source, results, startReader);
+  }
+
+  /**
+   * Executes the Grenadier command a translated vanilla command was given.
+   * <p>
+   * If the same input was already parsed by an earlier source in the same
+   * {@code /execute} fork, that parse is reused
+   */
+  public static int executeTranslated(
+      CommandSource source,
+      CommandContext<CommandSourceStack> context
+  ) {
+    final String input = context.getInput();
+    final int start = context.getRange().getStart();
+
+    ParseResults<CommandSource> results = ForkParseCache.get(input, start, source);
+
+    if (results != null) {
+      StringReader startReader = new StringReader(input);
+      startReader.setCursor(start);
+
+      return execute(source, results, startReader);
+    }
+
+    StringReader reader = Readers.fromContextInput(context);
+    final StringReader startReader = Readers.copy(reader);
+
+    results = parse(source, reader);
+
+    if (results == null) {
+      return 0;
+    }
+
+    ForkParseCache.put(input, start, results);
+    return execute(source, results, startReader);
+  }
+
+  private static ParseResults<CommandSource> parse(CommandSource source, StringReader reader) {
     CommandSyntaxException.ENABLE_COMMAND_STACK_TRACES = true;
 
+    GrenadierProviderImpl provider = provider();
+    int maxLength = provider.getSettings().getMaxCommandInputLength();
+
+    if (reader.getRemainingLength() > maxLength) {
+      provider.getMetrics().inputLengthRejections.increment();
+
+      SyntaxExceptions.handle(
+          Grenadier.exceptions().inputTooLong(reader.getRemainingLength(), maxLength),
+          source
+      );
+      return null;
+    }
+
     CommandDispatcher<CommandSource> dispatcher = Grenadier.dispatcher();
+
+    // The parse budget isn't applied here, input that parsed successfully
+    // is always executed, no matter how long parsing it took
     ParseResults<CommandSource> results = dispatcher.parse(reader, source);
 
     if (LOGGER.isDebugEnabled() && false) {
       printDebugInfo(dispatcher, results, reader);
     }
 
+    return results;
+  }
+
+  private static int execute(
+      CommandSource source,
+      ParseResults<CommandSource> results,
+      StringReader startReader
+  ) {
     try {
-      return dispatcher.execute(results);
+      return Grenadier.dispatcher().execute(results);
     } catch (CommandSyntaxException exc) {
       SyntaxExceptions.handle(exc, source);
       return 0;
@@ -163,11 +351,84 @@ public final class InternalUtil {
     return reader.getString().substring(start, end);
   }
 
+  public static Command<CommandSource> incremental(IncrementalCommand command) {
+    Objects.requireNonNull(command, "Null command");
+
+    return context -> {
+      CommandTask task = command.start(context);
+
+      if (task == null) {
+        return 0;
+      }
+
+      provider().getTaskRunner().run(
+          context.getSource(),
+          task,
+          context.getInput(),
+          pluginOf(command.getClass())
+      );
+      return Command.SINGLE_SUCCESS;
+    };
+  }
+
+  public static Command<CommandSource> async(AsyncCommand command) {
+    Objects.requireNonNull(command, "Null command");
+
+    return context -> {
+      provider().getAsyncRunner().run(context, command);
+      return Command.SINGLE_SUCCESS;
+    };
+  }
+
+  public static Command<CommandSource> forEachTarget(
+      TargetSupplier supplier,
+      ForkedCommand command
+  ) {
+    return ForkedExecution.forEach(supplier, command);
+  }
+
   public static Plugin getCallingPlugin() {
     Class<?> callerClass = StackLocatorUtil.getCallerClass(3);
     return JavaPlugin.getProvidingPlugin(callerClass);
   }
 
+  /**
+   * Finds the plugin that called into Grenadier by skipping over any stack
+   * frames belonging to Grenadier's API or internal classes
+   *
+   * @return Calling plugin, {@code null}, if the caller wasn't loaded by a
+   *         plugin
+   */
+  public static Plugin findCallingPlugin() {
+    Class<?> caller = STACK_WALKER.walk(frames -> {
+      return frames.map(StackFrame::getDeclaringClass)
+          .filter(c -> {
+            String packageName = c.getPackageName();
+            return !packageName.equals(API_PACKAGE)
+                && !packageName.equals(INTERNAL_PACKAGE);
+          })
+          .findFirst()
+          .orElse(null);
+    });
+
+    return pluginOf(caller);
+  }
+
+  /**
+   * Finds the plugin that loaded a class
+   *
+   * @param type Class
+   * @return Plugin that loaded the class, {@code null}, if the class wasn't
+   *         loaded by a plugin
+   */
+  public static Plugin pluginOf(Class<?> type) {
+    if (type == null || !(type.getClassLoader() instanceof PluginClassLoader loader)) {
+      return null;
+    }
+
+    return loader.getPlugin();
+  }
+
   public interface ReaderPredicate {
     boolean parse(StringReader reader) throws CommandSyntaxException;
   }
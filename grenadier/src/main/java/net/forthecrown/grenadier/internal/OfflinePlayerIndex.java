@@ -0,0 +1,229 @@
+package net.forthecrown.grenadier.internal;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import net.forthecrown.grenadier.Completions;
+import net.forthecrown.grenadier.Grenadier;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Index of the names and UUIDs of every player known to have joined the
+ * server.
+ * <p>
+ * The index is loaded asynchronously from the server's user cache and player
+ * data files, and kept up to date as players join. Lookups only ever read
+ * the index, they never load profiles from disk or the network.
+ */
+@Internal
+public class OfflinePlayerIndex {
+
+  private static final Logger LOGGER = Grenadier.getLogger();
+
+  static final String USER_CACHE_FILE = "usercache.json";
+
+  /** Lower case name -> entry */
+  private final ConcurrentSkipListMap<String, Entry> byName
+      = new ConcurrentSkipListMap<>();
+
+  /** UUID -> lower case name, used to drop a player's old name when renamed */
+  private final Map<UUID, String> byId = new ConcurrentHashMap<>();
+
+  private volatile boolean loaded;
+
+  OfflinePlayerIndex() {
+  }
+
+  /**
+   * Starts loading the index in the background. Players that join before
+   * loading finishes are added to the index as they join.
+   *
+   * @param plugin Plugin to schedule the loading with
+   */
+  void load(Plugin plugin) {
+    for (Player player : Bukkit.getOnlinePlayers()) {
+      add(player.getName(), player.getUniqueId());
+    }
+
+    // Read straight from the files instead of through
+    // Bukkit.getOfflinePlayers(), which isn't safe to call asynchronously,
+    // and on the server thread would stall the tick for the whole disk scan
+    Bukkit.getAsyncScheduler().runNow(plugin, task -> {
+      try {
+        loadUserCache();
+        loadPlayerData();
+      } catch (Throwable t) {
+        LOGGER.error("Failed to load offline player index", t);
+      }
+
+      loaded = true;
+    });
+  }
+
+  private void loadUserCache() throws IOException {
+    Path path = Bukkit.getWorldContainer().toPath().resolve(USER_CACHE_FILE);
+
+    if (!Files.exists(path)) {
+      return;
+    }
+
+    JsonArray array;
+
+    try (Reader reader = Files.newBufferedReader(path)) {
+      array = JsonParser.parseReader(reader).getAsJsonArray();
+    }
+
+    for (JsonElement element : array) {
+      if (!(element instanceof JsonObject obj)
+          || !obj.has("name")
+          || !obj.has("uuid")
+      ) {
+        continue;
+      }
+
+      try {
+        UUID id = UUID.fromString(obj.get("uuid").getAsString());
+        putIfAbsent(obj.get("name").getAsString(), id);
+      } catch (IllegalArgumentException exc) {
+        // Malformed entry, skip it
+      }
+    }
+  }
+
+  private void loadPlayerData() throws IOException {
+    // Player data files of players that have fallen out of the user cache,
+    // names are read from the data file's last known name
+    Path directory = MinecraftServer.getServer().getWorldPath(LevelResource.PLAYER_DATA_DIR);
+
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.dat")) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        UUID id;
+
+        try {
+          id = UUID.fromString(fileName.substring(0, fileName.length() - ".dat".length()));
+        } catch (IllegalArgumentException exc) {
+          continue;
+        }
+
+        // Known from the user cache or a join, don't read the file
+        if (byId.containsKey(id)) {
+          continue;
+        }
+
+        String name = readLastKnownName(file);
+
+        if (name != null) {
+          putIfAbsent(name, id);
+        }
+      }
+    }
+  }
+
+  private static @Nullable String readLastKnownName(Path file) {
+    try {
+      CompoundTag tag = NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
+      String name = tag.getCompound("bukkit").getString("lastKnownName");
+      return name.isEmpty() ? null : name;
+    } catch (IOException | RuntimeException exc) {
+      LOGGER.debug("Failed to read player data file {}", file, exc);
+      return null;
+    }
+  }
+
+  // Entries loaded from disk must not replace names learned from joins that
+  // happened while loading
+  private void putIfAbsent(String name, UUID id) {
+    if (byId.containsKey(id)) {
+      return;
+    }
+
+    add(name, id);
+  }
+
+  void add(String name, UUID id) {
+    String lower = name.toLowerCase(Locale.ROOT);
+    String previous = byId.put(id, lower);
+
+    // Another player may have taken the old name since, only remove it if
+    // it's still this player's
+    if (previous != null && !previous.equals(lower)) {
+      byName.computeIfPresent(previous, (key, entry) -> entry.id.equals(id) ? null : entry);
+    }
+
+    byName.put(lower, new Entry(name, id));
+  }
+
+  /**
+   * Tests if the index has finished loading the players known before
+   * the server started
+   *
+   * @return {@code true}, if loaded, {@code false} otherwise
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Looks up a player's UUID by their name, ignoring case
+   *
+   * @param name Player name
+   * @return Player's UUID, or {@code null}, if no player with the name has
+   *         joined the server
+   */
+  public @Nullable UUID lookup(String name) {
+    Entry entry = byName.get(name.toLowerCase(Locale.ROOT));
+    return entry == null ? null : entry.id;
+  }
+
+  /**
+   * Suggests the names of known players that match the builder's
+   * remaining input
+   *
+   * @param builder Builder to suggest to
+   */
+  public void suggest(SuggestionsBuilder builder) {
+    String token = builder.getRemainingLowerCase();
+    int limit = Completions.remainingSuggestions(builder);
+    int suggested = 0;
+
+    for (var entry : byName.tailMap(token, true).entrySet()) {
+      if (!entry.getKey().startsWith(token) || suggested >= limit) {
+        break;
+      }
+
+      builder.suggest(entry.getValue().name);
+      suggested++;
+    }
+  }
+
+  private record Entry(String name, UUID id) {
+
+  }
+}
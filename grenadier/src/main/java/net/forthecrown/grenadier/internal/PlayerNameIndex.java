@@ -0,0 +1,102 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentSkipListMap;
+import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.Completions;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+/**
+ * Sorted, case-insensitive index of online player names.
+ * <p>
+ * Players are added when they join and removed when they quit, which lets
+ * player name suggestions look up the players whose name starts with the
+ * input, instead of testing every online player. Visibility is specific to
+ * each viewer, so it's tested when suggesting, only for the matching
+ * players.
+ * <p>
+ * Until Grenadier has a plugin to listen to join and quit events with, the
+ * index is inactive and suggestions fall back to testing every online
+ * player.
+ */
+@Internal
+public class PlayerNameIndex {
+
+  /**
+   * Separates the lower case name from the UUID in index keys. Sorts before
+   * any name character, so a name's key always sorts before the keys of
+   * longer names starting with it.
+   */
+  private static final char SEPARATOR = '\0';
+
+  private final ConcurrentSkipListMap<String, Player> players
+      = new ConcurrentSkipListMap<>();
+
+  private volatile boolean active;
+
+  PlayerNameIndex() {
+  }
+
+  private static String key(Player player) {
+    return player.getName().toLowerCase(Locale.ROOT)
+        + SEPARATOR
+        + player.getUniqueId();
+  }
+
+  void rebuild(Collection<? extends Player> online) {
+    players.clear();
+
+    for (Player player : online) {
+      add(player);
+    }
+
+    active = true;
+  }
+
+  void add(Player player) {
+    players.put(key(player), player);
+  }
+
+  void remove(Player player) {
+    players.remove(key(player), player);
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  /**
+   * Suggests the names of the online players visible to the {@code source}
+   * that match the builder's remaining input
+   *
+   * @param builder Builder to suggest to
+   * @param source Source the suggestions are for
+   */
+  public void suggest(SuggestionsBuilder builder, CommandSource source) {
+    if (!active) {
+      Completions.suggest(builder, source.getVisiblePlayers().map(Player::getName));
+      return;
+    }
+
+    String token = builder.getRemainingLowerCase();
+    int remaining = Completions.remainingSuggestions(builder);
+
+    for (var entry : players.tailMap(token, true).entrySet()) {
+      if (!entry.getKey().startsWith(token) || remaining <= 0) {
+        break;
+      }
+
+      Player player = entry.getValue();
+
+      if (!source.canSee(player)) {
+        continue;
+      }
+
+      builder.suggest(player.getName());
+      remaining--;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package net.forthecrown.grenadier.internal;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.world.entity.Entity;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Thread ownership checks and scheduling that work on both regular and
+ * region-threaded (Folia) servers.
+ * <p>
+ * On a regular server, everything is owned by the main thread, and all the
+ * schedulers used here run their tasks on it.
+ */
+final class RegionAccess {
+  private RegionAccess() {}
+
+  /**
+   * Max time {@link #callOwned(Plugin, CommandSourceStack, Supplier, Object)}
+   * waits for another region before using its fallback value
+   */
+  static final long MARSHAL_TIMEOUT_MILLIS = 1000L;
+
+  /** {@code true}, if the server is region-threaded */
+  static final boolean REGIONISED = isClassPresent(
+      "io.papermc.paper.threadedregions.RegionizedServer"
+  );
+
+  private static boolean isClassPresent(String name) {
+    try {
+      Class.forName(name);
+      return true;
+    } catch (ClassNotFoundException exc) {
+      return false;
+    }
+  }
+
+  /**
+   * Tests if the current thread is a server tick thread. On Folia, that's any
+   * region's thread.
+   */
+  static boolean isTickThread() {
+    return Bukkit.isPrimaryThread();
+  }
+
+  /**
+   * Tests if the current thread owns the source's entity, or if the source
+   * has no entity, the source's location
+   */
+  static boolean ownsSource(CommandSourceStack stack) {
+    if (!REGIONISED) {
+      return Bukkit.isPrimaryThread();
+    }
+
+    Entity entity = stack.getEntity();
+    if (entity != null) {
+      return Bukkit.isOwnedByCurrentRegion(entity.getBukkitEntity());
+    }
+
+    Location location = stack.getBukkitLocation();
+    if (location != null && location.getWorld() != null) {
+      return Bukkit.isOwnedByCurrentRegion(location);
+    }
+
+    return Bukkit.isGlobalTickThread();
+  }
+
+  /**
+   * Runs a task on the thread that owns the source
+   */
+  static void execute(Plugin plugin, CommandSourceStack stack, Runnable task) {
+    Entity entity = stack.getEntity();
+
+    // If the entity is removed before the task runs, the retired callback
+    // runs instead, and hands the task over to the source's location
+    Runnable retired = () -> executeAtLocation(plugin, stack, task);
+
+    // Entity scheduler returns false if the entity was already removed, in
+    // which case fall back to the location
+    if (entity != null
+        && entity.getBukkitEntity().getScheduler().execute(plugin, task, retired, 1L)
+    ) {
+      return;
+    }
+
+    executeAtLocation(plugin, stack, task);
+  }
+
+  private static void executeAtLocation(
+      Plugin plugin,
+      CommandSourceStack stack,
+      Runnable task
+  ) {
+    Location location = stack.getBukkitLocation();
+    if (location != null && location.getWorld() != null) {
+      Bukkit.getRegionScheduler().execute(plugin, location, task);
+      return;
+    }
+
+    Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+  }
+
+  /**
+   * Calls a function on the thread that owns the source and waits for the
+   * result, with no time limit.
+   * <p>
+   * Only for threads that can afford to wait, like an async command's
+   * virtual thread. The scheduled function always runs, even if the source's
+   * entity is removed, so the wait only ends early if the waiting thread is
+   * interrupted, eg: by the async command runner shutting down. The function
+   * won't be called if it hasn't started by then
+   */
+  static <T> T call(Plugin plugin, CommandSourceStack stack, Callable<T> callable)
+      throws Exception
+  {
+    if (ownsSource(stack)) {
+      return callable.call();
+    }
+
+    CompletableFuture<T> future = schedule(plugin, stack, callable);
+
+    try {
+      return future.get();
+    } catch (InterruptedException exc) {
+      future.cancel(false);
+      throw exc;
+    } catch (ExecutionException exc) {
+      throw rethrow(exc);
+    }
+  }
+
+  /**
+   * Calls a function that reads world state around the source.
+   * <p>
+   * If the current thread doesn't own the source, the call is marshalled to
+   * the owning thread. Tick threads never wait on other regions, as two
+   * regions waiting on each other would deadlock, so they get the
+   * {@code fallback} value instead, as do calls that time out.
+   */
+  static <T> T callOwned(
+      Plugin plugin,
+      CommandSourceStack stack,
+      Supplier<T> supplier,
+      T fallback
+  ) {
+    if (ownsSource(stack)) {
+      return supplier.get();
+    }
+
+    if (plugin == null || isTickThread()) {
+      return fallback;
+    }
+
+    CompletableFuture<T> future = schedule(plugin, stack, supplier::get);
+
+    try {
+      return future.get(MARSHAL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+      return fallback;
+    } catch (TimeoutException exc) {
+      future.cancel(false);
+      return fallback;
+    } catch (ExecutionException exc) {
+      Throwable cause = exc.getCause();
+
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error err) {
+        throw err;
+      }
+
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Calls a function on the thread that owns the source. The function isn't
+   * called if the returned future is cancelled before the function runs
+   */
+  static <T> CompletableFuture<T> schedule(
+      Plugin plugin,
+      CommandSourceStack stack,
+      Callable<T> callable
+  ) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+
+    execute(plugin, stack, () -> {
+      if (future.isDone()) {
+        return;
+      }
+
+      try {
+        future.complete(callable.call());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    });
+
+    return future;
+  }
+
+  private static Exception rethrow(ExecutionException exc) {
+    Throwable cause = exc.getCause();
+
+    if (cause instanceof Exception e) {
+      return e;
+    }
+    if (cause instanceof Error err) {
+      throw err;
+    }
+
+    return exc;
+  }
+
+  /**
+   * Runs a task once every tick on the global region, which on a regular
+   * server is the main thread
+   */
+  static ScheduledTask repeat(Plugin plugin, Runnable task) {
+    return Bukkit.getGlobalRegionScheduler()
+        .runAtFixedRate(plugin, scheduledTask -> task.run(), 1L, 1L);
+  }
+}
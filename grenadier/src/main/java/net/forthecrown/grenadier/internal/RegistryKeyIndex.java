@@ -0,0 +1,164 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.forthecrown.grenadier.Completions;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+/**
+ * Sorted index of a registry's keys, used to suggest registry entries
+ * without testing every entry.
+ * <p>
+ * Suggestions match the same entries as
+ * {@link Completions#suggestKeyed(SuggestionsBuilder, Iterable)}, entries
+ * whose namespace, value or full key starts with the input. A namespace
+ * match is always also a full key match, so the index only needs to hold
+ * the full keys and the values, both sorted, and each suggestion is a
+ * binary search followed by a scan over the matching range.
+ * <p>
+ * The index is built lazily, when first used, and rebuilt after the server's
+ * resources are reloaded.
+ */
+@Internal
+public class RegistryKeyIndex {
+
+  /** Incremented each time the server's resources are reloaded */
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+
+  private final Registry<? extends Keyed> registry;
+
+  private volatile Snapshot snapshot;
+
+  public RegistryKeyIndex(Registry<? extends Keyed> registry) {
+    this.registry = Objects.requireNonNull(registry, "Null registry");
+  }
+
+  /**
+   * Invalidates all registry indexes, causing them to be rebuilt the next
+   * time they're used
+   */
+  static void invalidateAll() {
+    GENERATION.incrementAndGet();
+  }
+
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    int generation = GENERATION.get();
+
+    if (current != null && current.generation == generation) {
+      return current;
+    }
+
+    current = Snapshot.build(registry, generation);
+    snapshot = current;
+
+    return current;
+  }
+
+  /**
+   * Suggests all registry entries that match the builder's remaining input
+   *
+   * @param builder Builder to suggest to
+   * @return Built suggestions
+   */
+  public CompletableFuture<Suggestions> suggest(SuggestionsBuilder builder) {
+    Snapshot snapshot = snapshot();
+    String token = builder.getRemainingLowerCase();
+    int remaining = Completions.remainingSuggestions(builder);
+
+    String[] keys = snapshot.keys;
+
+    for (int i = lowerBound(keys, token); i < keys.length && remaining > 0; i++) {
+      if (!keys[i].startsWith(token)) {
+        break;
+      }
+
+      builder.suggest(keys[i]);
+      remaining--;
+    }
+
+    String[] values = snapshot.values;
+
+    for (int i = lowerBound(values, token); i < values.length && remaining > 0; i++) {
+      if (!values[i].startsWith(token)) {
+        break;
+      }
+
+      String key = snapshot.valueKeys[i];
+
+      // Already suggested by the full key range
+      if (key.startsWith(token)) {
+        continue;
+      }
+
+      builder.suggest(key);
+      remaining--;
+    }
+
+    return builder.buildFuture();
+  }
+
+  /**
+   * Finds the index of the first element not less than {@code token}
+   */
+  static int lowerBound(String[] array, String token) {
+    int low = 0;
+    int high = array.length;
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+
+      if (array[mid].compareTo(token) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  private record Snapshot(
+      int generation,
+      String[] keys,
+      String[] values,
+      String[] valueKeys
+  ) {
+
+    static Snapshot build(Registry<? extends Keyed> registry, int generation) {
+      List<NamespacedKey> entries = new ArrayList<>();
+
+      for (Keyed keyed : registry) {
+        entries.add(keyed.getKey());
+      }
+
+      String[] keys = entries.stream()
+          .map(NamespacedKey::asString)
+          .sorted()
+          .toArray(String[]::new);
+
+      NamespacedKey[] byValue = entries.stream()
+          .sorted(Comparator.comparing(NamespacedKey::value))
+          .toArray(NamespacedKey[]::new);
+
+      String[] values = new String[byValue.length];
+      String[] valueKeys = new String[byValue.length];
+
+      for (int i = 0; i < byValue.length; i++) {
+        values[i] = byValue[i].value();
+        valueKeys[i] = byValue[i].asString();
+      }
+
+      return new Snapshot(generation, keys, values, valueKeys);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package net.forthecrown.grenadier.internal;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.forthecrown.grenadier.GrenadierSettings;
+import net.minecraft.commands.CommandSource;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+/**
+ * Per-tick cache of entity selector results.
+ * <p>
+ * Command block chains and functions often resolve the same selector from the
+ * same origin multiple times during a tick, this cache lets all but the first
+ * resolution skip scanning the world's entities.
+ * <p>
+ * Results are keyed by the selector's text, the source's world, position,
+ * entity, output, permission level and selector permission override, so a
+ * source is never handed results that skipped its own permission check.
+ * Random selectors are never cached.
+ *
+ * @see GrenadierSettings#isSelectorCaching()
+ */
+@Internal
+public class SelectorCache {
+
+  private final GrenadierSettings settings;
+  private final GrenadierMetricsImpl metrics;
+
+  private final Map<Key, List<? extends Entity>> results = new HashMap<>();
+  private int tick = -1;
+
+  SelectorCache(GrenadierSettings settings, GrenadierMetricsImpl metrics) {
+    this.settings = settings;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Resolves a selector, or returns its result from earlier this tick
+   *
+   * @param selector Selector's text
+   * @param players {@code true}, if only players are resolved
+   * @param cacheable {@code false}, if the selector's results can differ
+   *                  between resolutions, eg: randomly sorted selectors
+   * @param stack Source resolving the selector
+   * @param resolver Resolves the selector if there's no cached result
+   *
+   * @return Resolved entities
+   * @throws CommandSyntaxException If the resolver failed
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Entity> List<? extends T> resolve(
+      String selector,
+      boolean players,
+      boolean cacheable,
+      CommandSourceStack stack,
+      Resolver<T> resolver
+  ) throws CommandSyntaxException {
+    if (!settings.isSelectorCaching() || !cacheable) {
+      return resolver.resolve(stack);
+    }
+
+    Key key = new Key(
+        selector,
+        players,
+        stack.getLevel(),
+        stack.getPosition(),
+        stack.getEntity(),
+        stack.source,
+        CommandSourceImpl.permissionLevel(stack),
+        stack.bypassSelectorPermissions
+    );
+
+    synchronized (results) {
+      int currentTick = Bukkit.getCurrentTick();
+
+      if (tick != currentTick) {
+        results.clear();
+        tick = currentTick;
+      }
+
+      List<? extends Entity> cached = results.get(key);
+
+      if (cached != null) {
+        metrics.selectorCacheHits.increment();
+        return (List<T>) cached;
+      }
+    }
+
+    metrics.selectorCacheMisses.increment();
+
+    // Resolved outside the lock, a resolution may run other commands
+    List<T> resolved = List.copyOf(resolver.resolve(stack));
+
+    synchronized (results) {
+      results.put(key, resolved);
+    }
+
+    return resolved;
+  }
+
+  public void clear() {
+    synchronized (results) {
+      results.clear();
+    }
+  }
+
+  public interface Resolver<T extends Entity> {
+    List<? extends T> resolve(CommandSourceStack stack) throws CommandSyntaxException;
+  }
+
+  private record Key(
+      String selector,
+      boolean players,
+      ServerLevel level,
+      Vec3 position,
+      Entity entity,
+      CommandSource output,
+      int permissionLevel,
+      boolean override
+  ) {
+
+  }
+}
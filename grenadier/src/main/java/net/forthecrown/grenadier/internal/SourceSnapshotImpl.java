@@ -0,0 +1,116 @@
+package net.forthecrown.grenadier.internal;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import net.forthecrown.grenadier.CommandSource;
+import net.forthecrown.grenadier.PermissionLevel;
+import net.forthecrown.grenadier.SourceSnapshot;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+import org.jetbrains.annotations.NotNull;
+
+class SourceSnapshotImpl implements SourceSnapshot {
+
+  private final String textName;
+  private final Component displayName;
+  private final Location location;
+  private final PermissionLevel permissionLevel;
+  private final boolean op;
+  private final Map<String, Boolean> permissions;
+  private final Audience audience;
+
+  private SourceSnapshotImpl(
+      String textName,
+      Component displayName,
+      Location location,
+      PermissionLevel permissionLevel,
+      boolean op,
+      Map<String, Boolean> permissions,
+      Audience audience
+  ) {
+    this.textName = textName;
+    this.displayName = displayName;
+    this.location = location;
+    this.permissionLevel = permissionLevel;
+    this.op = op;
+    this.permissions = permissions;
+    this.audience = audience;
+  }
+
+  static SourceSnapshot create(CommandSource source) {
+    CommandSender output = source.output();
+    Map<String, Boolean> permissions = new HashMap<>();
+
+    for (PermissionAttachmentInfo info : output.getEffectivePermissions()) {
+      permissions.put(info.getPermission().toLowerCase(Locale.ENGLISH), info.getValue());
+    }
+
+    return new SourceSnapshotImpl(
+        source.textName(),
+        source.displayName(),
+        source.getLocation().clone(),
+        source.getPermissionLevel(),
+        output.isOp(),
+        Map.copyOf(permissions),
+        source.audience()
+    );
+  }
+
+  @Override
+  public @NotNull String textName() {
+    return textName;
+  }
+
+  @Override
+  public @NotNull Component displayName() {
+    return displayName;
+  }
+
+  @Override
+  public @NotNull Location getLocation() {
+    return location.clone();
+  }
+
+  @Override
+  public @NotNull PermissionLevel getPermissionLevel() {
+    return permissionLevel;
+  }
+
+  @Override
+  public boolean hasPermission(@NotNull String permission) {
+    Objects.requireNonNull(permission, "Null permission");
+
+    String name = permission.toLowerCase(Locale.ENGLISH);
+    Boolean value = permissions.get(name);
+
+    if (value != null) {
+      return value;
+    }
+
+    // Same fallback as Bukkit's PermissibleBase
+    Permission registered = Bukkit.getPluginManager().getPermission(name);
+
+    if (registered != null) {
+      return registered.getDefault().getValue(op);
+    }
+
+    return Permission.DEFAULT_PERMISSION.getValue(op);
+  }
+
+  @Override
+  public boolean isOp() {
+    return op;
+  }
+
+  @Override
+  public @NotNull Audience audience() {
+    return audience;
+  }
+}
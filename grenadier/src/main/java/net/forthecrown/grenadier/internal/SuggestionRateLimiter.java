@@ -0,0 +1,142 @@
+package net.forthecrown.grenadier.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import net.forthecrown.grenadier.GrenadierSettings;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.level.ServerPlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Per-player token bucket limiting how many suggestion requests a single
+ * player can make
+ */
+class SuggestionRateLimiter {
+
+  private final GrenadierSettings settings;
+  private final GrenadierMetricsImpl metrics;
+
+  private final Map<UUID, Bucket> buckets = new HashMap<>();
+
+  public SuggestionRateLimiter(GrenadierSettings settings, GrenadierMetricsImpl metrics) {
+    this.settings = settings;
+    this.metrics = metrics;
+  }
+
+  public boolean tryAcquire(CommandSourceStack stack, String input) {
+    ServerPlayer player = stack.getPlayer();
+    return tryAcquire(player == null ? null : player.getUUID(), input);
+  }
+
+  public boolean tryAcquire(CommandSender sender, String input) {
+    if (!(sender instanceof Player player)) {
+      return true;
+    }
+
+    return tryAcquire(player.getUniqueId(), input);
+  }
+
+  /**
+   * Attempts to take a token from a player's bucket.
+   * <p>
+   * A single suggestion request may invoke several suggestion providers with
+   * the same input string, so a token is only taken if the {@code input} is
+   * not equal to the last input seen for that player
+   *
+   * @param playerId ID of the player requesting suggestions, {@code null}, if
+   *                 the request was not made by a player
+   * @param input Suggestion input
+   *
+   * @return {@code true}, if suggestions can be created,
+   *         {@code false} if the player's bucket is empty
+   */
+  public boolean tryAcquire(@Nullable UUID playerId, String input) {
+    double rate = settings.getSuggestionRate();
+
+    if (playerId == null || rate <= 0) {
+      return true;
+    }
+
+    int burst = settings.getSuggestionBurst();
+    long now = System.nanoTime();
+
+    synchronized (buckets) {
+      Bucket bucket = buckets.computeIfAbsent(playerId, id -> new Bucket(burst, now));
+
+      if (input.equals(bucket.lastInput)) {
+        return true;
+      }
+
+      bucket.refill(now, rate, burst);
+
+      if (bucket.tokens < 1.0D) {
+        metrics.rateLimitedSuggestions.increment();
+        return false;
+      }
+
+      bucket.tokens--;
+      bucket.lastInput = input;
+      return true;
+    }
+  }
+
+  /**
+   * Gives back the token taken by a request that was handed over to another
+   * suggestion path, which takes its own token for the same request
+   *
+   * @param sender Sender that made the request
+   */
+  public void refund(CommandSender sender) {
+    if (!(sender instanceof Player player)) {
+      return;
+    }
+
+    synchronized (buckets) {
+      Bucket bucket = buckets.get(player.getUniqueId());
+
+      if (bucket == null) {
+        return;
+      }
+
+      bucket.tokens = Math.min(settings.getSuggestionBurst(), bucket.tokens + 1.0D);
+      bucket.lastInput = null;
+    }
+  }
+
+  public void remove(UUID playerId) {
+    synchronized (buckets) {
+      buckets.remove(playerId);
+    }
+  }
+
+  public void clear() {
+    synchronized (buckets) {
+      buckets.clear();
+    }
+  }
+
+  private static class Bucket {
+    double tokens;
+    long lastRefill;
+    String lastInput;
+
+    Bucket(double tokens, long lastRefill) {
+      this.tokens = tokens;
+      this.lastRefill = lastRefill;
+    }
+
+    void refill(long now, double rate, int burst) {
+      long elapsed = now - lastRefill;
+      lastRefill = now;
+
+      if (elapsed <= 0) {
+        return;
+      }
+
+      tokens = Math.min(burst, tokens + (elapsed * rate / 1_000_000_000D));
+    }
+  }
+}
@@ -34,21 +34,32 @@ import net.minecraft.commands.synchronization.ArgumentTypeInfos;
 class TreeTranslator {
 
   public static final Command<CommandSourceStack> COMMAND = context -> {
-    StringReader input = Readers.fromContextInput(context.getLastChild());
     CommandSource source = InternalUtil.wrap(context.getSource());
-
-    return InternalUtil.execute(source, input);
+    return InternalUtil.executeTranslated(source, context.getLastChild());
   };
 
   public static final SuggestionProvider<CommandSourceStack> SUGGESTION_PROVIDER = (context, builder) -> {
-    CommandSource source = InternalUtil.wrap(context.getSource());
     StringReader reader = Readers.fromContextInput(context.getLastChild());
 
+    if (!InternalUtil.allowSuggestionInput(reader)
+        || !InternalUtil.allowSuggestionRequest(context.getSource(), reader)
+    ) {
+      return Suggestions.empty();
+    }
+
+    CommandSource source = InternalUtil.wrap(context.getSource());
     CommandDispatcher<CommandSource> dispatcher = Grenadier.dispatcher();
 
     try {
+      final long parseStart = System.nanoTime();
       ParseResults<CommandSource> parseResults = dispatcher.parse(reader, source);
-      return dispatcher.getCompletionSuggestions(parseResults);
+
+      if (!InternalUtil.withinParseBudget(parseStart)) {
+        return Suggestions.empty();
+      }
+
+      return dispatcher.getCompletionSuggestions(parseResults)
+          .thenApply(InternalUtil::limitSuggestions);
     } catch (Throwable t) {
       Grenadier.getProvider()
           .getExceptionHandler()
@@ -184,14 +195,26 @@ class TreeTranslator {
   ) {
     return (context, builder) -> {
       StringReader reader = Readers.createFiltered(context.getInput());
+
+      if (!InternalUtil.allowSuggestionInput(reader)
+          || !InternalUtil.allowSuggestionRequest(context.getSource(), reader)
+      ) {
+        return Suggestions.empty();
+      }
+
       CommandSource source = InternalUtil.wrap(context.getSource());
       source.setCurrentNode(root);
 
       CommandDispatcher<CommandSource> dispatcher = Grenadier.dispatcher();
 
+      final long parseStart = System.nanoTime();
       ParseResults<CommandSource> parseResults
           = dispatcher.parse(reader, source);
 
+      if (!InternalUtil.withinParseBudget(parseStart)) {
+        return Suggestions.empty();
+      }
+
       CommandContext<CommandSource> grenadierContext
           = parseResults.getContext()
           .build(context.getInput())
@@ -206,7 +229,8 @@ class TreeTranslator {
       }
 
       try {
-        return grenadierNode.listSuggestions(grenadierContext, builder);
+        return grenadierNode.listSuggestions(grenadierContext, builder)
+            .thenApply(InternalUtil::limitSuggestions);
       } catch (CommandSyntaxException exc) {
         return builder.buildFuture();
       } catch (Throwable t) {
@@ -348,6 +348,20 @@ public final class ArgumentTypes {
     return UuidArgumentImpl.INSTANCE;
   }
 
+  /**
+   * Gets the offline player argument.
+   * <p>
+   * Accepts the name or UUID of any player that has joined the server.
+   * Unlike {@link org.bukkit.Bukkit#getOfflinePlayer(String)}, parsing never
+   * looks up profiles over the network.
+   *
+   * @return Offline player argument
+   * @see OfflinePlayerArgument
+   */
+  public static OfflinePlayerArgument offlinePlayer() {
+    return OfflinePlayerArgumentImpl.INSTANCE;
+  }
+
   /**
    * Gets the double range argument.
    * <p>
@@ -516,7 +530,13 @@ public final class ArgumentTypes {
    * <p>
    * Note: no key in the specified {@code values} map may feature a whitespace
    * character, as whitespace characters are used to detect when to stop reading
-   * input
+   * input.
+   * <p>
+   * If the map is immutable, eg: created with {@link Map#of()},
+   * {@link Map#copyOf(Map)} or Guava's {@code ImmutableMap}, its keys are
+   * indexed for faster suggestions. Other maps are suggested from their
+   * current keys each time. Use {@link #dynamicMap(boolean)} for values that
+   * change at runtime and should still be suggested quickly
    *
    * @param values Parse values
    * @return Created argument type
@@ -530,6 +550,34 @@ public final class ArgumentTypes {
     return new MapArgumentImpl<>(values);
   }
 
+  /**
+   * Creates a case-sensitive map argument whose values can be changed after
+   * it's created
+   *
+   * @return Created argument type
+   * @param <T> Map values
+   * @see DynamicMapArgument
+   */
+  public static <T> DynamicMapArgument<T> dynamicMap() {
+    return dynamicMap(false);
+  }
+
+  /**
+   * Creates an empty map argument whose values can be changed after it's
+   * created.
+   * <p>
+   * Unlike {@link #map(Map)}, keys added or removed after the argument is
+   * created are immediately parsed and suggested.
+   *
+   * @param ignoreCase {@code true}, to match keys case-insensitively
+   * @return Created argument type
+   * @param <T> Map values
+   * @see DynamicMapArgument
+   */
+  public static <T> DynamicMapArgument<T> dynamicMap(boolean ignoreCase) {
+    return new DynamicMapArgumentImpl<>(ignoreCase);
+  }
+
   /**
    * Creates an array argument for the specified {@code type}
    * @param type Individual element parser
@@ -6,9 +6,12 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -33,6 +36,7 @@ import org.bukkit.Material;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.TileState;
 import org.bukkit.block.data.BlockData;
+import org.bukkit.craftbukkit.block.CraftBlock;
 import org.bukkit.craftbukkit.block.data.CraftBlockData;
 import org.bukkit.craftbukkit.util.CraftMagicNumbers;
 import org.jetbrains.annotations.NotNull;
@@ -74,6 +78,12 @@ class BlockFilterArgumentImpl
 
     private final CompoundTag tag;
 
+    /**
+     * Global block state IDs of every state that matches the parsed block or
+     * tag and properties, see {@link Block#getId(net.minecraft.world.level.block.state.BlockState)}
+     */
+    private final BitSet states;
+
     ResultImpl(BlockResult result) {
       this.tag = InternalUtil.fromVanillaTag(result.nbt());
 
@@ -95,6 +105,11 @@ class BlockFilterArgumentImpl
           })
 
           .collect(InternalUtil.mapCollector());
+
+      this.states = compileStates(
+          List.of(result.blockState().getBlock()),
+          properties
+      );
     }
 
     ResultImpl(TagResult result) {
@@ -106,6 +121,84 @@ class BlockFilterArgumentImpl
           .collect(Collectors.toSet());
 
       this.properties = new HashMap<>(result.vagueProperties());
+
+      this.states = compileStates(
+          result.tag().stream().map(Holder::value).toList(),
+          properties
+      );
+    }
+
+    /**
+     * Finds the IDs of all states of the specified blocks that have the
+     * specified property values
+     */
+    static BitSet compileStates(
+        Collection<Block> blocks,
+        Map<String, String> properties
+    ) {
+      BitSet states = new BitSet();
+
+      for (Block block : blocks) {
+        compileBlock(block, properties, states);
+      }
+
+      return states;
+    }
+
+    private static void compileBlock(
+        Block block,
+        Map<String, String> properties,
+        BitSet states
+    ) {
+      var definition = block.getStateDefinition();
+
+      Property<?>[] props = new Property[properties.size()];
+      Comparable<?>[] values = new Comparable[properties.size()];
+      int index = 0;
+
+      for (var e: properties.entrySet()) {
+        Property<?> prop = definition.getProperty(e.getKey());
+
+        // Block doesn't have the property, none of its states can match
+        if (prop == null) {
+          return;
+        }
+
+        var optional = prop.getValue(e.getValue());
+
+        if (optional.isEmpty()) {
+          return;
+        }
+
+        props[index] = prop;
+        values[index] = optional.get();
+        index++;
+      }
+
+      for (var state: definition.getPossibleStates()) {
+        if (hasValues(state, props, values)) {
+          states.set(Block.getId(state));
+        }
+      }
+    }
+
+    private static boolean hasValues(
+        net.minecraft.world.level.block.state.BlockState state,
+        Property<?>[] props,
+        Comparable<?>[] values
+    ) {
+      for (int i = 0; i < props.length; i++) {
+        if (!Objects.equals(values[i], state.getValue(props[i]))) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private boolean testState(net.minecraft.world.level.block.state.BlockState state) {
+      int id = Block.getId(state);
+      return id >= 0 && states.get(id);
     }
 
     @Override
@@ -123,8 +216,19 @@ class BlockFilterArgumentImpl
       return Collections.unmodifiableMap(properties);
     }
 
-    private boolean testMaterial(Material material) {
-      return materials.contains(material);
+    @Override
+    public boolean test(org.bukkit.block.Block block) {
+      if (!(block instanceof CraftBlock craftBlock)) {
+        return Result.super.test(block);
+      }
+
+      // Test the block's state directly, a block state snapshot is only
+      // needed to compare NBT
+      if (!testState(craftBlock.getNMS())) {
+        return false;
+      }
+
+      return tag == null || test(block.getState());
     }
 
     @Override
@@ -149,35 +253,8 @@ class BlockFilterArgumentImpl
 
     @Override
     public boolean test(BlockData data) {
-      if (!testMaterial(data.getMaterial())) {
-        return false;
-      }
-
       CraftBlockData craftData = (CraftBlockData) data;
-      var state = craftData.getState();
-      var stateDefinition = state.getBlock().getStateDefinition();
-
-      for (var e: properties.entrySet()) {
-        Property<?> prop = stateDefinition.getProperty(e.getKey());
-
-        if (prop == null) {
-          return false;
-        }
-
-        var optional = prop.getValue(e.getValue());
-
-        if (optional.isEmpty()) {
-          return false;
-        }
-
-        Comparable value = optional.get();
-
-        if (!Objects.equals(value, state.getValue(prop))) {
-          return false;
-        }
-      }
-
-      return true;
+      return testState(craftData.getState());
     }
 
     @Override
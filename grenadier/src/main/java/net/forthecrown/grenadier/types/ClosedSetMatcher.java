@@ -0,0 +1,187 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.StringReader;
+import it.unimi.dsi.fastutil.chars.CharPredicate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Matches words against a fixed set of strings, reading straight from a
+ * {@link StringReader}'s input.
+ * <p>
+ * The strings are stored in a character trie, so a lookup walks the input
+ * once and doesn't create a substring or a lower-cased copy of the word, the
+ * way {@code readUnquotedString().toLowerCase()} followed by a map lookup
+ * would.
+ * <p>
+ * If created to ignore case, the input's characters are lower-cased before
+ * being matched against the set's strings, which are used as they are. So
+ * strings with upper case characters can never match, same as looking up a
+ * lower-cased word in a map.
+ *
+ * @param <V> Value type
+ */
+final class ClosedSetMatcher<V> {
+
+  private final Node<V> root;
+  private final boolean ignoreCase;
+  private final int size;
+
+  private ClosedSetMatcher(Node<V> root, boolean ignoreCase, int size) {
+    this.root = root;
+    this.ignoreCase = ignoreCase;
+    this.size = size;
+  }
+
+  /**
+   * Creates a matcher for the specified values
+   *
+   * @param values String to value map
+   * @param ignoreCase {@code true}, to lower-case input characters before
+   *                   matching them
+   *
+   * @return Created matcher
+   */
+  static <V> ClosedSetMatcher<V> of(Map<String, ? extends V> values, boolean ignoreCase) {
+    Objects.requireNonNull(values, "Null values");
+    Node<V> root = new Node<>();
+
+    values.forEach((key, value) -> {
+      Node<V> node = root;
+
+      for (int i = 0; i < key.length(); i++) {
+        node = node.getOrCreate(key.charAt(i));
+      }
+
+      node.value = value;
+    });
+
+    return new ClosedSetMatcher<>(root, ignoreCase, values.size());
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Reads a word and matches it against this set.
+   * <p>
+   * The word is the longest run of characters accepted by {@code wordChar},
+   * starting at the reader's cursor. If the whole word is in this set, the
+   * reader's cursor is moved past it, otherwise the cursor is left where it
+   * was.
+   *
+   * @param reader Reader to read from
+   * @param wordChar Tests if a character belongs to the word
+   *
+   * @return The word's value, or {@code null}, if the word is not in
+   *         this set
+   */
+  @Nullable V read(StringReader reader, CharPredicate wordChar) {
+    final String input = reader.getString();
+    final int length = input.length();
+
+    Node<V> node = root;
+    int i = reader.getCursor();
+
+    while (i < length) {
+      char ch = input.charAt(i);
+
+      if (!wordChar.test(ch)) {
+        break;
+      }
+
+      if (node != null) {
+        node = node.get(ignoreCase ? Character.toLowerCase(ch) : ch);
+      }
+
+      i++;
+    }
+
+    if (node == null || node.value == null) {
+      return null;
+    }
+
+    reader.setCursor(i);
+    return node.value;
+  }
+
+  /**
+   * Gets the value of a string
+   *
+   * @param key String to look up
+   * @return String's value, or {@code null}, if the string is not in this set
+   */
+  @Nullable V get(String key) {
+    Node<V> node = root;
+
+    for (int i = 0; i < key.length() && node != null; i++) {
+      char ch = key.charAt(i);
+      node = node.get(ignoreCase ? Character.toLowerCase(ch) : ch);
+    }
+
+    return node == null ? null : node.value;
+  }
+
+  private static final class Node<V> {
+
+    private static final char[] NO_CHARS = new char[0];
+
+    // Sorted, children[i] is the child for chars[i]
+    private char[] chars = NO_CHARS;
+    private Node<V>[] children;
+
+    private V value;
+
+    Node<V> get(char ch) {
+      char[] chars = this.chars;
+
+      // Most nodes have a handful of children, a linear scan beats a binary
+      // search on those
+      if (chars.length <= 8) {
+        for (int i = 0; i < chars.length; i++) {
+          if (chars[i] == ch) {
+            return children[i];
+          }
+        }
+
+        return null;
+      }
+
+      int index = Arrays.binarySearch(chars, ch);
+      return index < 0 ? null : children[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    Node<V> getOrCreate(char ch) {
+      int index = Arrays.binarySearch(chars, ch);
+
+      if (index >= 0) {
+        return children[index];
+      }
+
+      int insert = -index - 1;
+      Node<V> child = new Node<>();
+
+      char[] newChars = new char[chars.length + 1];
+      Node<V>[] newChildren = new Node[chars.length + 1];
+
+      System.arraycopy(chars, 0, newChars, 0, insert);
+      System.arraycopy(chars, insert, newChars, insert + 1, chars.length - insert);
+      newChars[insert] = ch;
+
+      if (children != null) {
+        System.arraycopy(children, 0, newChildren, 0, insert);
+        System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+      }
+      newChildren[insert] = child;
+
+      chars = newChars;
+      children = newChildren;
+
+      return child;
+    }
+  }
+}
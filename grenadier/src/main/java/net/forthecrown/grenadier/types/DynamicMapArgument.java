@@ -0,0 +1,103 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Map argument whose entries can be changed after it's been created.
+ * <p>
+ * Entries are kept in a concurrent sorted map, so values can be added and
+ * removed at any time, from any thread, and every change is immediately
+ * visible to both parsing and suggestions. Suggestions are found with a range
+ * lookup on the sorted keys, instead of testing every key.
+ * <p>
+ * Example: <pre><code>
+ * static final DynamicMapArgument&lt;Location> WARPS
+ *     = ArgumentTypes.dynamicMap(true);
+ *
+ * void createWarp(String name, Location location) {
+ *   WARPS.put(name, location);
+ * }
+ *
+ * void deleteWarp(String name) {
+ *   WARPS.remove(name);
+ * }
+ * </code></pre>
+ *
+ * @param <T> Value type
+ * @see ArgumentTypes#dynamicMap(boolean)
+ */
+public interface DynamicMapArgument<T> extends MapArgument<T> {
+
+  /**
+   * Tests if keys are matched case-insensitively.
+   * <p>
+   * If {@code true}, keys that only differ by case are treated as the same
+   * key, and parsing {@code Spawn} will return the value of {@code spawn}
+   *
+   * @return {@code true}, if case is ignored, {@code false} otherwise
+   */
+  boolean isIgnoreCase();
+
+  /**
+   * Adds a value, or replaces the value of an existing key.
+   * <p>
+   * If case is ignored, replacing a value keeps the casing the key was first
+   * added with
+   *
+   * @param key Value's key, may not contain whitespace characters
+   * @param value Value
+   *
+   * @return The key's previous value, or {@code null}, if the key had no value
+   *
+   * @throws IllegalArgumentException If the key is empty or contains a
+   *                                  whitespace character
+   */
+  @Nullable T put(String key, T value) throws IllegalArgumentException;
+
+  /**
+   * Adds all entries in the specified map
+   *
+   * @param values Values to add
+   *
+   * @throws IllegalArgumentException If any key is empty or contains a
+   *                                  whitespace character
+   *
+   * @see #put(String, Object)
+   */
+  void putAll(Map<String, ? extends T> values) throws IllegalArgumentException;
+
+  /**
+   * Removes a key's value
+   * @param key Key to remove
+   * @return The removed value, or {@code null}, if the key had no value
+   */
+  @Nullable T remove(String key);
+
+  /**
+   * Removes all values
+   */
+  void clear();
+
+  /**
+   * Gets an unmodifiable, live view of this argument's values
+   * @return Value map
+   */
+  @Override
+  Map<String, T> values();
+
+  @Override
+  T parse(StringReader reader) throws CommandSyntaxException;
+
+  @Override
+  <S> CompletableFuture<Suggestions> listSuggestions(
+      CommandContext<S> context,
+      SuggestionsBuilder builder
+  );
+}
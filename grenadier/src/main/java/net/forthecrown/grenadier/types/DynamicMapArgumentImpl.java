@@ -0,0 +1,130 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.Getter;
+import net.forthecrown.grenadier.Completions;
+import net.forthecrown.grenadier.Grenadier;
+import net.forthecrown.grenadier.Readers;
+
+class DynamicMapArgumentImpl<T> implements DynamicMapArgument<T> {
+
+  /**
+   * Case-sensitive key order. Keys are sorted case-insensitively first, so
+   * keys sharing a prefix are next to each other regardless of case, which
+   * is what suggestions need
+   */
+  private static final Comparator<String> CASE_SENSITIVE_ORDER
+      = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+  @Getter
+  private final boolean ignoreCase;
+
+  private final ConcurrentSkipListMap<String, T> values;
+  private final Map<String, T> view;
+
+  public DynamicMapArgumentImpl(boolean ignoreCase) {
+    this.ignoreCase = ignoreCase;
+
+    this.values = new ConcurrentSkipListMap<>(
+        ignoreCase ? String.CASE_INSENSITIVE_ORDER : CASE_SENSITIVE_ORDER
+    );
+
+    this.view = Collections.unmodifiableMap(values);
+  }
+
+  @Override
+  public T put(String key, T value) throws IllegalArgumentException {
+    Objects.requireNonNull(key, "Null key");
+    Objects.requireNonNull(value, "Null value");
+    MapArgumentImpl.validateKey(key);
+
+    // A single put() replaces the value atomically. When ignoring case, the
+    // map keeps the existing key's casing
+    return values.put(key, value);
+  }
+
+  @Override
+  public void putAll(Map<String, ? extends T> values)
+      throws IllegalArgumentException
+  {
+    Objects.requireNonNull(values, "Null values");
+    values.keySet().forEach(MapArgumentImpl::validateKey);
+    values.forEach(this::put);
+  }
+
+  @Override
+  public T remove(String key) {
+    Objects.requireNonNull(key, "Null key");
+    return values.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    values.clear();
+  }
+
+  @Override
+  public Map<String, T> values() {
+    return view;
+  }
+
+  @Override
+  public T parse(StringReader reader) throws CommandSyntaxException {
+    int start = reader.getCursor();
+    var word = Readers.readUntilWhitespace(reader);
+
+    T value = values.get(word);
+
+    if (value == null) {
+      reader.setCursor(start);
+      throw Grenadier.exceptions().unknownMapValue(word, reader);
+    }
+
+    return value;
+  }
+
+  @Override
+  public <S> CompletableFuture<Suggestions> listSuggestions(
+      CommandContext<S> context,
+      SuggestionsBuilder builder
+  ) {
+    String token = builder.getRemaining();
+    int remaining = Completions.remainingSuggestions(builder);
+
+    // Every key that starts with the token, ignoring case, sorts at or after
+    // the token and before any key that doesn't
+    for (String key : values.tailMap(token, true).keySet()) {
+      if (remaining <= 0 || !key.regionMatches(true, 0, token, 0, token.length())) {
+        break;
+      }
+
+      builder.suggest(key);
+      remaining--;
+    }
+
+    // Except in case-sensitive maps, where keys that equal the token when
+    // ignoring case may sort before it
+    if (!ignoreCase) {
+      for (String key : values.headMap(token, false).descendingKeySet()) {
+        if (remaining <= 0 || !key.equalsIgnoreCase(token)) {
+          break;
+        }
+
+        builder.suggest(key);
+        remaining--;
+      }
+    }
+
+    return builder.buildFuture();
+  }
+}
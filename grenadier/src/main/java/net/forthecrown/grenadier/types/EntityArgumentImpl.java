@@ -8,9 +8,20 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
@@ -18,13 +29,16 @@ import net.forthecrown.grenadier.CommandSource;
 import net.forthecrown.grenadier.Completions;
 import net.forthecrown.grenadier.Grenadier;
 import net.forthecrown.grenadier.PermissionLevel;
+import net.forthecrown.grenadier.internal.InternalUtil;
 import net.forthecrown.grenadier.internal.VanillaMappedArgument;
 import net.forthecrown.grenadier.Readers;
 import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.arguments.selector.EntitySelectorParser;
 import net.minecraft.server.level.ServerPlayer;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 @Getter
 @Accessors(fluent = true)
@@ -45,9 +59,9 @@ class EntityArgumentImpl implements EntityArgument, VanillaMappedArgument {
   {
     final int start = reader.getCursor();
 
-    EntitySelectorParser parser = new EntitySelectorParser(reader, true);
+    ParsedSelector parsed = SelectorParseCache.parse(reader, overridePermissions);
 
-    var nms = parser.parse(overridePermissions);
+    var nms = parsed.handle();
     var exceptions = Grenadier.exceptions();
 
     if (nms.getMaxResults() > 1 && !allowsMultiple) {
@@ -65,7 +79,7 @@ class EntityArgumentImpl implements EntityArgument, VanillaMappedArgument {
       throw exceptions.selectorOnlyPlayersAllowed(reader);
     }
 
-    return new ResultImpl(nms, Readers.copy(reader, start));
+    return new ResultImpl(parsed, Readers.copy(reader, start));
   }
 
   @Override
@@ -95,7 +109,7 @@ class EntityArgumentImpl implements EntityArgument, VanillaMappedArgument {
 
     return parser.fillSuggestions(builder, builder1 -> {
       Completions.suggest(builder1, s.getEntitySuggestions());
-      Completions.suggest(builder1, s.getVisiblePlayers().map(Player::getName));
+      InternalUtil.playerNames().suggest(builder1, s);
     });
   }
 
@@ -118,22 +132,63 @@ class EntityArgumentImpl implements EntityArgument, VanillaMappedArgument {
 
   @Override
   public boolean useVanillaSuggestions() {
+    // Clients suggest entities themselves, listSuggestions and its player
+    // name index only serve Bukkit and async tab completion
     return true;
   }
 
   static class ResultImpl implements EntitySelector {
 
+    private final ParsedSelector parsed;
     private final net.minecraft.commands.arguments.selector.EntitySelector handle;
     private final StringReader reader;
 
-    public ResultImpl(
-        net.minecraft.commands.arguments.selector.EntitySelector handle,
-        StringReader reader
-    ) {
-      this.handle = handle;
+    public ResultImpl(ParsedSelector parsed, StringReader reader) {
+      this.parsed = parsed;
+      this.handle = parsed.handle();
       this.reader = reader;
     }
 
+    private List<? extends ServerPlayer> resolvePlayers(CommandSource source)
+        throws CommandSyntaxException
+    {
+      return InternalUtil.selectorCache().resolve(
+          parsed.text(),
+          true,
+          !parsed.isRandomOrder(),
+          unwrap(source),
+          handle::findPlayers
+      );
+    }
+
+    private List<? extends net.minecraft.world.entity.Entity> resolveEntities(
+        CommandSource source
+    ) throws CommandSyntaxException {
+      return InternalUtil.selectorCache().resolve(
+          parsed.text(),
+          false,
+          !parsed.isRandomOrder(),
+          unwrap(source),
+          this::selectEntities
+      );
+    }
+
+    private List<? extends net.minecraft.world.entity.Entity> selectEntities(
+        CommandSourceStack stack
+    ) throws CommandSyntaxException {
+      if (!Grenadier.settings().isNearestSelectorSearch()) {
+        return handle.findEntities(stack);
+      }
+
+      NearestEntitySearch search = parsed.nearestSearch();
+
+      if (search == null) {
+        return handle.findEntities(stack);
+      }
+
+      return search.findEntities(stack);
+    }
+
     @Override
     public Player findPlayer(CommandSource source)
         throws CommandSyntaxException
@@ -164,26 +219,294 @@ class EntityArgumentImpl implements EntityArgument, VanillaMappedArgument {
       return entities.get(0);
     }
 
+    // Full lookups resolve in a single pass, batching only pays off when the
+    // consumer can stop early
+
     @Override
     public List<Player> findPlayers(CommandSource source)
         throws CommandSyntaxException
     {
-      return handle.findPlayers(unwrap(source))
-          .stream()
-          .map(ServerPlayer::getBukkitEntity)
-          .filter(source::canSee)
-          .collect(Collectors.toList());
+      return allPlayers(source).collect(Collectors.toList());
     }
 
     @Override
     public List<Entity> findEntities(CommandSource source)
         throws CommandSyntaxException
     {
-      return handle.findEntities(unwrap(source))
+      return allEntities(source).collect(Collectors.toList());
+    }
+
+    private Stream<Player> allPlayers(CommandSource source)
+        throws CommandSyntaxException
+    {
+      return resolvePlayers(source)
           .stream()
-          .map(net.minecraft.world.entity.Entity::getBukkitEntity)
-          .filter(source::canSee)
-          .collect(Collectors.toList());
+          .<Player>map(ServerPlayer::getBukkitEntity)
+          .filter(source::canSee);
+    }
+
+    private Stream<Entity> allEntities(CommandSource source)
+        throws CommandSyntaxException
+    {
+      return resolveEntities(source)
+          .stream()
+          .<Entity>map(net.minecraft.world.entity.Entity::getBukkitEntity)
+          .filter(source::canSee);
+    }
+
+    @Override
+    public Stream<Player> streamPlayers(CommandSource source)
+        throws CommandSyntaxException
+    {
+      if (parsed.isArbitraryOrder()) {
+        return new BatchedSelection(source, true).stream().map(Player.class::cast);
+      }
+
+      return allPlayers(source);
+    }
+
+    @Override
+    public Stream<Entity> streamEntities(CommandSource source)
+        throws CommandSyntaxException
+    {
+      if (parsed.isArbitraryOrder()) {
+        return new BatchedSelection(source, false).stream();
+      }
+
+      return allEntities(source);
+    }
+
+    @Override
+    public int visitPlayers(CommandSource source, Predicate<? super Player> visitor)
+        throws CommandSyntaxException
+    {
+      if (!parsed.isArbitraryOrder()) {
+        return visit(allPlayers(source).iterator(), visitor);
+      }
+
+      BatchedSelection selection = new BatchedSelection(source, true);
+      int visited = 0;
+      Entity next;
+
+      while ((next = selection.next()) != null) {
+        visited++;
+
+        if (!visitor.test((Player) next)) {
+          break;
+        }
+      }
+
+      return visited;
+    }
+
+    @Override
+    public int visitEntities(CommandSource source, Predicate<? super Entity> visitor)
+        throws CommandSyntaxException
+    {
+      if (!parsed.isArbitraryOrder()) {
+        return visit(allEntities(source).iterator(), visitor);
+      }
+
+      BatchedSelection selection = new BatchedSelection(source, false);
+      int visited = 0;
+      Entity next;
+
+      while ((next = selection.next()) != null) {
+        visited++;
+
+        if (!visitor.test(next)) {
+          break;
+        }
+      }
+
+      return visited;
+    }
+
+    private static <E> int visit(Iterator<E> it, Predicate<? super E> visitor) {
+      int visited = 0;
+
+      while (it.hasNext()) {
+        visited++;
+
+        if (!visitor.test(it.next())) {
+          break;
+        }
+      }
+
+      return visited;
+    }
+
+    @Override
+    public Optional<Player> findFirstPlayer(CommandSource source)
+        throws CommandSyntaxException
+    {
+      var limited = parsed.firstHandle();
+      List<ServerPlayer> found = limited.findPlayers(unwrap(source));
+
+      if (found.isEmpty()) {
+        return Optional.empty();
+      }
+
+      Player first = found.get(0).getBukkitEntity();
+
+      if (source.canSee(first)) {
+        return Optional.of(first);
+      }
+
+      // First match is hidden from the source, the next visible match can
+      // only be found with a full selection
+      return limited == handle
+          ? Optional.empty()
+          : streamPlayers(source).findFirst();
+    }
+
+    @Override
+    public Optional<Entity> findFirstEntity(CommandSource source)
+        throws CommandSyntaxException
+    {
+      var limited = parsed.firstHandle();
+      var found = limited.findEntities(unwrap(source));
+
+      if (found.isEmpty()) {
+        return Optional.empty();
+      }
+
+      Entity first = found.get(0).getBukkitEntity();
+
+      if (source.canSee(first)) {
+        return Optional.of(first);
+      }
+
+      return limited == handle
+          ? Optional.empty()
+          : streamEntities(source).findFirst();
+    }
+
+    /**
+     * Selects an unsorted selector's matches in growing batches.
+     * <p>
+     * Unsorted selectors stop searching once they reach their result limit,
+     * so each batch is a copy of the selector with a higher limit than the
+     * last. If whoever consumes the results stops early, the remaining
+     * batches are never selected. Matches already returned by a previous
+     * batch are skipped. Only used by streams and visitors, full lookups
+     * resolve in a single pass.
+     */
+    private class BatchedSelection {
+
+      /** Result limit of the first batch, multiplied for each next batch */
+      static final int FIRST_BATCH = 16;
+      static final int BATCH_GROWTH = 8;
+
+      private final CommandSource source;
+      private final CommandSourceStack stack;
+      private final boolean players;
+
+      // Only created once a second batch is selected
+      private Set<UUID> returned;
+
+      private List<? extends net.minecraft.world.entity.Entity> batch;
+      private int index;
+      private int limit;
+      private boolean exhausted;
+
+      BatchedSelection(CommandSource source, boolean players)
+          throws CommandSyntaxException
+      {
+        this.source = source;
+        this.stack = unwrap(source);
+        this.players = players;
+
+        // First batch is selected immediately, so permission failures are
+        // thrown by the method that created the selection
+        this.limit = Math.min(FIRST_BATCH, handle.getMaxResults());
+        select();
+      }
+
+      private void select() throws CommandSyntaxException {
+        var selector = parsed.limitedHandle(limit);
+        batch = players ? selector.findPlayers(stack) : selector.findEntities(stack);
+        index = 0;
+
+        // Fewer matches than the limit, there's nothing left to select
+        if (batch.size() < limit || limit >= handle.getMaxResults()) {
+          exhausted = true;
+        }
+      }
+
+      private boolean nextBatch() throws CommandSyntaxException {
+        if (exhausted) {
+          return false;
+        }
+
+        // Remember what the previous batches returned, the next batch
+        // starts over from the first match
+        if (returned == null) {
+          returned = new HashSet<>();
+        }
+        for (var entity : batch) {
+          returned.add(entity.getUUID());
+        }
+
+        limit = (int) Math.min((long) limit * BATCH_GROWTH, handle.getMaxResults());
+        select();
+        return true;
+      }
+
+      /**
+       * Gets the next visible match
+       * @return Next match, or {@code null}, if there are no more matches
+       */
+      @Nullable Entity next() throws CommandSyntaxException {
+        while (true) {
+          while (index < batch.size()) {
+            var entity = batch.get(index++);
+
+            if (returned != null && returned.contains(entity.getUUID())) {
+              continue;
+            }
+
+            Entity bukkit = entity.getBukkitEntity();
+
+            if (source.canSee(bukkit)) {
+              return bukkit;
+            }
+          }
+
+          if (!nextBatch()) {
+            return null;
+          }
+        }
+      }
+
+      Stream<Entity> stream() {
+        var spliterator = new Spliterators.AbstractSpliterator<Entity>(
+            Long.MAX_VALUE,
+            Spliterator.DISTINCT | Spliterator.NONNULL
+        ) {
+          @Override
+          public boolean tryAdvance(Consumer<? super Entity> action) {
+            Entity next;
+
+            try {
+              next = next();
+            } catch (CommandSyntaxException exc) {
+              // Streams can't throw checked exceptions. Only the permission
+              // check throws, and the first batch already passed it
+              throw new IllegalStateException(exc);
+            }
+
+            if (next == null) {
+              return false;
+            }
+
+            action.accept(next);
+            return true;
+          }
+        };
+
+        return StreamSupport.stream(spliterator, false);
+      }
     }
 
     @Override
@@ -2,6 +2,9 @@ package net.forthecrown.grenadier.types;
 
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import net.forthecrown.grenadier.CommandSource;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
@@ -52,6 +55,146 @@ public interface EntitySelector {
    */
   List<Entity> findEntities(CommandSource source) throws CommandSyntaxException;
 
+  /**
+   * Streams the players this selector matches.
+   * <p>
+   * Unsorted selectors select their matches in batches as the stream is
+   * consumed, so stopping early, eg: with {@link Stream#findFirst()} or
+   * {@link Stream#limit(long)}, skips searching for the remaining players.
+   * Sorted selectors (nearest, furthest, random) have to find every match
+   * before the first one is known, stopping early only skips the conversion
+   * and visibility test of the remaining players.
+   *
+   * @param source Source accessing this selector
+   * @return Stream of found players
+   * @throws CommandSyntaxException If the source isn't allowed to use entity
+   *                                selectors
+   */
+  default Stream<Player> streamPlayers(CommandSource source)
+      throws CommandSyntaxException
+  {
+    return findPlayers(source).stream();
+  }
+
+  /**
+   * Streams the entities this selector matches.
+   * <p>
+   * Unsorted selectors select their matches in batches as the stream is
+   * consumed, so stopping early, eg: with {@link Stream#findFirst()} or
+   * {@link Stream#limit(long)}, skips searching for the remaining entities.
+   * Sorted selectors (nearest, furthest, random) have to find every match
+   * before the first one is known, stopping early only skips the conversion
+   * and visibility test of the remaining entities.
+   *
+   * @param source Source accessing this selector
+   * @return Stream of found entities
+   * @throws CommandSyntaxException If the source isn't allowed to use entity
+   *                                selectors
+   */
+  default Stream<Entity> streamEntities(CommandSource source)
+      throws CommandSyntaxException
+  {
+    return findEntities(source).stream();
+  }
+
+  /**
+   * Visits each player this selector matches, until the visitor returns
+   * {@code false}
+   * <p>
+   * Stops selecting early the same way {@link #streamPlayers(CommandSource)}
+   * does.
+   *
+   * @param source Source accessing this selector
+   * @param visitor Player visitor, returns {@code true} to continue visiting,
+   *                {@code false} to stop
+   * @return Amount of visited players
+   * @throws CommandSyntaxException If the source isn't allowed to use entity
+   *                                selectors
+   */
+  default int visitPlayers(CommandSource source, Predicate<? super Player> visitor)
+      throws CommandSyntaxException
+  {
+    int visited = 0;
+
+    for (Player player : findPlayers(source)) {
+      visited++;
+
+      if (!visitor.test(player)) {
+        break;
+      }
+    }
+
+    return visited;
+  }
+
+  /**
+   * Visits each entity this selector matches, until the visitor returns
+   * {@code false}
+   * <p>
+   * Stops selecting early the same way {@link #streamEntities(CommandSource)}
+   * does.
+   *
+   * @param source Source accessing this selector
+   * @param visitor Entity visitor, returns {@code true} to continue visiting,
+   *                {@code false} to stop
+   * @return Amount of visited entities
+   * @throws CommandSyntaxException If the source isn't allowed to use entity
+   *                                selectors
+   */
+  default int visitEntities(CommandSource source, Predicate<? super Entity> visitor)
+      throws CommandSyntaxException
+  {
+    int visited = 0;
+
+    for (Entity entity : findEntities(source)) {
+      visited++;
+
+      if (!visitor.test(entity)) {
+        break;
+      }
+    }
+
+    return visited;
+  }
+
+  /**
+   * Finds the first player this selector matches.
+   * <p>
+   * Unlike {@link #findPlayer(CommandSource)}, this doesn't fail if the
+   * selector matches multiple players. The selection stops at the first match
+   * instead, in the selector's sort order.
+   *
+   * @param source Source accessing this selector
+   * @return First found player, or an empty optional, if no visible players
+   *         were found
+   * @throws CommandSyntaxException If the source isn't allowed to use entity
+   *                                selectors
+   */
+  default Optional<Player> findFirstPlayer(CommandSource source)
+      throws CommandSyntaxException
+  {
+    return streamPlayers(source).findFirst();
+  }
+
+  /**
+   * Finds the first entity this selector matches.
+   * <p>
+   * Unlike {@link #findEntity(CommandSource)}, this doesn't fail if the
+   * selector matches multiple entities. The selection stops at the first match
+   * instead, in the selector's sort order.
+   *
+   * @param source Source accessing this selector
+   * @return First found entity, or an empty optional, if no visible entities
+   *         were found
+   * @throws CommandSyntaxException If the source isn't allowed to use entity
+   *                                selectors
+   */
+  default Optional<Entity> findFirstEntity(CommandSource source)
+      throws CommandSyntaxException
+  {
+    return streamEntities(source).findFirst();
+  }
+
   /**
    * Tests if this selector is a self selector
    * @return If the parsed selector was a {@code @s} selector
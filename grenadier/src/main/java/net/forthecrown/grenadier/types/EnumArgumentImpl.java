@@ -11,9 +11,10 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
-import net.forthecrown.grenadier.Completions;
 import net.forthecrown.grenadier.Grenadier;
+import net.forthecrown.grenadier.SuggestionIndex;
 import net.forthecrown.grenadier.internal.VanillaMappedArgument;
 import net.minecraft.commands.CommandBuildContext;
 
@@ -25,22 +26,31 @@ class EnumArgumentImpl<E extends Enum<E>>
   private final Class<E> enumType;
   private final Map<String, E> lookupMap;
 
+  @Getter(AccessLevel.NONE)
+  private final SuggestionIndex suggestions;
+
+  @Getter(AccessLevel.NONE)
+  private final ClosedSetMatcher<E> matcher;
+
   public EnumArgumentImpl(Class<E> enumType) {
     this.enumType = enumType;
 
     this.lookupMap = Arrays.stream(enumType.getEnumConstants())
         .collect(Collectors.toMap(e -> e.name().toLowerCase(), e -> e));
+
+    this.suggestions = SuggestionIndex.of(lookupMap.keySet());
+    this.matcher = ClosedSetMatcher.of(lookupMap, true);
   }
 
   @Override
   public E parse(StringReader reader) throws CommandSyntaxException {
-    final int cursor = reader.getCursor();
-
-    String word = reader.readUnquotedString();
-    E value = lookupMap.get(word.toLowerCase());
+    E value = matcher.read(reader, StringReader::isAllowedInUnquotedString);
 
     if (value == null) {
+      final int cursor = reader.getCursor();
+      String word = reader.readUnquotedString();
       reader.setCursor(cursor);
+
       throw Grenadier.exceptions().invalidEnum(enumType, word, reader);
     }
 
@@ -52,7 +62,7 @@ class EnumArgumentImpl<E extends Enum<E>>
       CommandContext<S> context,
       SuggestionsBuilder builder
   ) {
-    return Completions.suggest(builder, lookupMap.keySet());
+    return suggestions.suggest(builder);
   }
 
   @Override
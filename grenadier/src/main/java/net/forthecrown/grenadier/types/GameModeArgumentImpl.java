@@ -9,8 +9,8 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
-import net.forthecrown.grenadier.Completions;
 import net.forthecrown.grenadier.Grenadier;
+import net.forthecrown.grenadier.SuggestionIndex;
 import net.forthecrown.grenadier.internal.VanillaMappedArgument;
 import net.minecraft.commands.CommandBuildContext;
 import org.bukkit.GameMode;
@@ -19,15 +19,24 @@ class GameModeArgumentImpl implements GameModeArgument, VanillaMappedArgument {
 
   static final GameModeArgument INSTANCE = new GameModeArgumentImpl() ;
 
+  private static final ClosedSetMatcher<GameMode> MATCHER
+      = ClosedSetMatcher.of(BY_LABEL, false);
+
+  private static final SuggestionIndex SUGGESTIONS = SuggestionIndex.of(
+      Arrays.stream(GameMode.values())
+          .map(gameMode -> gameMode.name().toLowerCase())
+          .toList()
+  );
+
   @Override
   public GameMode parse(StringReader reader) throws CommandSyntaxException {
-    final int start = reader.getCursor();
-    String word = reader.readUnquotedString();
-
-    GameMode gameMode = BY_LABEL.get(word);
+    GameMode gameMode = MATCHER.read(reader, StringReader::isAllowedInUnquotedString);
 
     if (gameMode == null) {
+      final int start = reader.getCursor();
+      String word = reader.readUnquotedString();
       reader.setCursor(start);
+
       throw Grenadier.exceptions().unknownGamemode(word, reader);
     }
 
@@ -38,11 +47,7 @@ class GameModeArgumentImpl implements GameModeArgument, VanillaMappedArgument {
   public <S> CompletableFuture<Suggestions> listSuggestions(
       CommandContext<S> context, SuggestionsBuilder builder
   ) {
-    return Completions.suggest(
-        builder,
-        Arrays.stream(GameMode.values())
-            .map(gameMode -> gameMode.name().toLowerCase())
-    );
+    return SUGGESTIONS.suggest(builder);
   }
 
   @Override
@@ -6,12 +6,23 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.BitSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import net.forthecrown.grenadier.internal.InternalUtil;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.arguments.item.ItemPredicateArgument;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import org.bukkit.Material;
 import org.bukkit.craftbukkit.inventory.CraftItemStack;
+import org.bukkit.craftbukkit.util.CraftMagicNumbers;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 class ItemFilterArgumentImpl
     extends AbstractItemArgument
@@ -28,7 +39,71 @@ class ItemFilterArgumentImpl
 
   @Override
   public Result parse(StringReader reader) throws CommandSyntaxException {
-    return new ResultImpl(argument.parse(reader));
+    final int start = reader.getCursor();
+    var result = argument.parse(reader);
+
+    StringReader elementReader = new StringReader(reader.getString());
+    elementReader.setCursor(start);
+
+    BitSet types = readTypes(elementReader);
+
+    // Anything after the item or tag is a component or NBT check
+    boolean hasChecks = elementReader.getCursor() != reader.getCursor();
+
+    return new ResultImpl(result, types, hasChecks);
+  }
+
+  /**
+   * Reads the item, tag or wildcard at the start of an item predicate and
+   * resolves it to the ordinals of the materials it accepts
+   *
+   * @param reader Reader positioned at the start of the predicate
+   * @return Accepted material ordinals, or {@code null}, if any type is
+   *         accepted
+   */
+  private @Nullable BitSet readTypes(StringReader reader) {
+    if (reader.canRead() && reader.peek() == '*') {
+      reader.skip();
+      return null;
+    }
+
+    try {
+      Stream<Holder<Item>> items;
+
+      if (reader.canRead() && reader.peek() == '#') {
+        reader.skip();
+
+        var key = TagKey.create(Registries.ITEM, ResourceLocation.read(reader));
+        var tag = holderLookup.get(key);
+
+        if (tag.isEmpty()) {
+          return null;
+        }
+
+        items = tag.get().stream();
+      } else {
+        var key = ResourceKey.create(Registries.ITEM, ResourceLocation.read(reader));
+        var item = holderLookup.get(key);
+
+        if (item.isEmpty()) {
+          return null;
+        }
+
+        items = Stream.of(item.get());
+      }
+
+      BitSet types = new BitSet();
+
+      items.map(Holder::value)
+          .map(CraftMagicNumbers::getMaterial)
+          .forEach(material -> types.set(material.ordinal()));
+
+      return types;
+    } catch (CommandSyntaxException exc) {
+      // Already parsed by the vanilla parser, shouldn't happen, fall back
+      // to testing every item with the vanilla predicate
+      return null;
+    }
   }
 
   @Override
@@ -46,12 +121,44 @@ class ItemFilterArgumentImpl
   public static class ResultImpl implements Result {
     final ItemPredicateArgument.Result result;
 
+    /** Ordinals of accepted materials, null if any material is accepted */
+    private final BitSet types;
+
+    /** If the vanilla predicate has component or NBT checks */
+    private final boolean hasChecks;
+
     public ResultImpl(ItemPredicateArgument.Result result) {
+      this(result, null, true);
+    }
+
+    ResultImpl(
+        ItemPredicateArgument.Result result,
+        @Nullable BitSet types,
+        boolean hasChecks
+    ) {
       this.result = result;
+      this.types = types;
+      this.hasChecks = hasChecks;
     }
 
     @Override
     public boolean test(ItemStack itemStack) {
+      if (types == null) {
+        return testVanilla(itemStack);
+      }
+
+      // Test the type first, the item is only copied to check components
+      // once the type is known to match
+      Material type = itemStack == null ? Material.AIR : itemStack.getType();
+
+      if (!types.get(type.ordinal())) {
+        return false;
+      }
+
+      return !hasChecks || testVanilla(itemStack);
+    }
+
+    private boolean testVanilla(ItemStack itemStack) {
       var nms = CraftItemStack.asNMSCopy(itemStack);
       return result.test(nms);
     }
@@ -61,4 +168,4 @@ class ItemFilterArgumentImpl
       return "Result{}";
     }
   }
-}
\ No newline at end of file
+}
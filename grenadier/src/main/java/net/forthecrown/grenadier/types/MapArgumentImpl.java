@@ -1,25 +1,48 @@
 package net.forthecrown.grenadier.types;
 
+import com.google.common.collect.ImmutableMap;
 import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import net.forthecrown.grenadier.Completions;
 import net.forthecrown.grenadier.Grenadier;
 import net.forthecrown.grenadier.Readers;
+import net.forthecrown.grenadier.SuggestionIndex;
 
 class MapArgumentImpl<T> implements MapArgument<T> {
 
-  public static final Pattern VALID_KEY_PATTERN = Pattern.compile("\\S+");
+  /** Classes of the maps returned by {@code Map.of} and {@code Map.copyOf} */
+  private static final Set<Class<?>> JDK_IMMUTABLE_MAPS = Set.of(
+      Map.of().getClass(),
+      Map.of("", "").getClass()
+  );
 
   private final Map<String, T> values;
 
+  // Only created if the map can't change, null otherwise
+  private final SuggestionIndex suggestions;
+
   public MapArgumentImpl(Map<String, T> values) {
     this.values = values;
     values.keySet().forEach(MapArgumentImpl::validateKey);
+
+    this.suggestions = isImmutable(values)
+        ? SuggestionIndex.of(values.keySet())
+        : null;
+  }
+
+  static boolean isImmutable(Map<?, ?> map) {
+    return map instanceof ImmutableMap<?, ?>
+        || JDK_IMMUTABLE_MAPS.contains(map.getClass());
   }
 
   static void validateKey(String name) {
-    if (VALID_KEY_PATTERN.matcher(name).matches()) {
+    if (isValidKey(name)) {
       return;
     }
 
@@ -31,6 +54,25 @@ class MapArgumentImpl<T> implements MapArgument<T> {
     );
   }
 
+  /**
+   * Tests if a key is non-empty and has no whitespace characters, the same
+   * test {@link Readers#readUntilWhitespace(StringReader)} uses to find the
+   * end of a key
+   */
+  static boolean isValidKey(String name) {
+    if (name.isEmpty()) {
+      return false;
+    }
+
+    for (int i = 0; i < name.length(); i++) {
+      if (Character.isWhitespace(name.charAt(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   @Override
   public T parse(StringReader reader) throws CommandSyntaxException {
     int start = reader.getCursor();
@@ -50,4 +92,16 @@ class MapArgumentImpl<T> implements MapArgument<T> {
   public Map<String, T> values() {
     return values;
   }
+
+  @Override
+  public <S> CompletableFuture<Suggestions> listSuggestions(
+      CommandContext<S> context,
+      SuggestionsBuilder builder
+  ) {
+    if (suggestions == null) {
+      return Completions.suggest(builder, values.keySet());
+    }
+
+    return suggestions.suggest(builder);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.List;
+import net.minecraft.advancements.critereon.MinMaxBounds;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.arguments.selector.EntitySelector;
+import net.minecraft.commands.arguments.selector.EntitySelectorParser;
+import net.minecraft.world.entity.Entity;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Evaluates limited, nearest-first entity selectors by searching
+ * increasingly large areas around the selector's origin.
+ * <p>
+ * Each search area is a copy of the selector with an added distance limit.
+ * Vanilla evaluates distance limited selectors by only visiting the chunk
+ * sections that intersect the distance's bounding box, instead of every loaded
+ * entity. If a search finds at least as many entities as the selector's limit,
+ * those are guaranteed to be the nearest ones, as every entity outside the
+ * search radius is further away. Otherwise, the next, larger radius is
+ * searched, and if none of them find enough entities, the unbounded vanilla
+ * selector is used.
+ */
+class NearestEntitySearch {
+
+  /** Search radii, in blocks, from smallest to largest */
+  static final double[] RADII = {16.0D, 64.0D, 256.0D};
+
+  private final EntitySelector handle;
+  private final EntitySelector[] bounded;
+
+  private NearestEntitySearch(EntitySelector handle, EntitySelector[] bounded) {
+    this.handle = handle;
+    this.bounded = bounded;
+  }
+
+  /**
+   * Creates a nearby search for a selector
+   *
+   * @param handle Parsed selector
+   * @param parser Parser the selector was created with
+   * @param nearestFirst {@code true}, if the parsed selector's sort order is
+   *                     nearest first
+   *
+   * @return Created search, or {@code null}, if the selector isn't a limited,
+   *         nearest-first selector without a distance or volume limit
+   */
+  static @Nullable NearestEntitySearch create(
+      EntitySelector handle,
+      EntitySelectorParser parser,
+      boolean nearestFirst
+  ) {
+    if (!nearestFirst || !isApplicable(handle, parser)) {
+      return null;
+    }
+
+    EntitySelector[] bounded = new EntitySelector[RADII.length];
+
+    for (int i = 0; i < RADII.length; i++) {
+      parser.setDistance(MinMaxBounds.Doubles.atMost(RADII[i]));
+      bounded[i] = parser.getSelector();
+    }
+
+    // Other copies of the selector are created from the same parser
+    parser.setDistance(MinMaxBounds.Doubles.ANY);
+
+    return new NearestEntitySearch(handle, bounded);
+  }
+
+  private static boolean isApplicable(EntitySelector handle, EntitySelectorParser parser) {
+    // Player-only selectors only look at the player list, which is already
+    // cheap to search
+    if (!handle.includesEntities() || handle.isSelfSelector()) {
+      return false;
+    }
+
+    // Volume and distance limited selectors are already evaluated by
+    // chunk section
+    if (handle.isWorldLimited()
+        || !parser.getDistance().isAny()
+        || parser.getDeltaX() != null
+        || parser.getDeltaY() != null
+        || parser.getDeltaZ() != null
+    ) {
+      return false;
+    }
+
+    return handle.getMaxResults() != Integer.MAX_VALUE;
+  }
+
+  /**
+   * Finds the selector's entities
+   *
+   * @param stack Source to find the entities with
+   * @return Found entities
+   * @throws CommandSyntaxException If the source isn't allowed to use
+   *                                selectors
+   */
+  List<? extends Entity> findEntities(CommandSourceStack stack)
+      throws CommandSyntaxException
+  {
+    final int limit = handle.getMaxResults();
+
+    for (EntitySelector selector : bounded) {
+      List<? extends Entity> found = selector.findEntities(stack);
+
+      if (found.size() >= limit) {
+        return found;
+      }
+    }
+
+    return handle.findEntities(stack);
+  }
+}
@@ -0,0 +1,35 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.concurrent.CompletableFuture;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Parses the name or UUID of a player that has joined the server before.
+ * <p>
+ * Names are looked up in an index of known players, built from the server's
+ * user cache and player data, so parsing never blocks on a profile lookup,
+ * unlike {@link org.bukkit.Bukkit#getOfflinePlayer(String)}. Names are
+ * case-insensitive.
+ * <p>
+ * Input examples: <pre>
+ * Notch
+ * 069a79f4-44e9-4726-a5be-fca90e38aaf5
+ * </pre>
+ */
+public interface OfflinePlayerArgument extends ArgumentType<OfflinePlayer> {
+
+  @Override
+  OfflinePlayer parse(StringReader reader) throws CommandSyntaxException;
+
+  @Override
+  <S> CompletableFuture<Suggestions> listSuggestions(
+      CommandContext<S> context,
+      SuggestionsBuilder builder
+  );
+}
@@ -0,0 +1,72 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import net.forthecrown.grenadier.Grenadier;
+import net.forthecrown.grenadier.internal.InternalUtil;
+import net.forthecrown.grenadier.internal.VanillaMappedArgument;
+import net.minecraft.commands.CommandBuildContext;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+class OfflinePlayerArgumentImpl
+    implements OfflinePlayerArgument, VanillaMappedArgument
+{
+
+  static final OfflinePlayerArgument INSTANCE = new OfflinePlayerArgumentImpl();
+
+  /** Length of a hyphenated UUID string */
+  private static final int UUID_LENGTH = 36;
+
+  @Override
+  public OfflinePlayer parse(StringReader reader) throws CommandSyntaxException {
+    final int start = reader.getCursor();
+    String word = reader.readUnquotedString();
+
+    if (word.length() == UUID_LENGTH) {
+      try {
+        return Bukkit.getOfflinePlayer(UUID.fromString(word));
+      } catch (IllegalArgumentException exc) {
+        // Not a UUID, look it up as a name
+      }
+    }
+
+    UUID id = InternalUtil.offlinePlayers().lookup(word);
+
+    if (id != null) {
+      return Bukkit.getOfflinePlayer(id);
+    }
+
+    // Index may still be loading, but online players are always known
+    Player online = Bukkit.getPlayerExact(word);
+
+    if (online != null) {
+      return online;
+    }
+
+    reader.setCursor(start);
+    throw Grenadier.exceptions().unknownPlayer(word, reader);
+  }
+
+  @Override
+  public <S> CompletableFuture<Suggestions> listSuggestions(
+      CommandContext<S> context,
+      SuggestionsBuilder builder
+  ) {
+    InternalUtil.offlinePlayers().suggest(builder);
+    return builder.buildFuture();
+  }
+
+  @Override
+  public ArgumentType<?> getVanillaType(CommandBuildContext context) {
+    return StringArgumentType.word();
+  }
+}
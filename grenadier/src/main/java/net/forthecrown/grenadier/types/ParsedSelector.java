@@ -0,0 +1,154 @@
+package net.forthecrown.grenadier.types;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import net.minecraft.commands.arguments.selector.EntitySelector;
+import net.minecraft.commands.arguments.selector.EntitySelectorParser;
+
+/**
+ * A parsed vanilla selector, along with the parser that created it, which is
+ * used to lazily create modified copies of the selector.
+ * <p>
+ * Instances may be shared between multiple parse results, see
+ * {@link SelectorParseCache}, so the parser must only be accessed while
+ * holding this object's lock.
+ */
+class ParsedSelector {
+
+  /** The selector's sort order field, null if it couldn't be found */
+  private static final Field ORDER_FIELD = findOrderField();
+
+  private final EntitySelector handle;
+  private final EntitySelectorParser parser;
+  private final String text;
+
+  // Copies of the handle with a lower result limit, lazily created
+  private final Int2ObjectMap<EntitySelector> limitedHandles
+      = new Int2ObjectOpenHashMap<>();
+
+  // Nearby search for nearest-first selectors, lazily created
+  private NearestEntitySearch nearestSearch;
+  private boolean nearestSearchCreated;
+
+  ParsedSelector(EntitySelector handle, EntitySelectorParser parser, String text) {
+    this.handle = handle;
+    this.parser = parser;
+    this.text = text;
+  }
+
+  EntitySelector handle() {
+    return handle;
+  }
+
+  /**
+   * Gets the selector's input text
+   * @return Selector text
+   */
+  String text() {
+    return text;
+  }
+
+  private static Field findOrderField() {
+    for (Field field : EntitySelector.class.getDeclaredFields()) {
+      if (field.getType() != BiConsumer.class) {
+        continue;
+      }
+
+      try {
+        field.setAccessible(true);
+        return field;
+      } catch (RuntimeException exc) {
+        return null;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Gets the selector's sort order
+   * @return Sort order, or {@code null}, if it couldn't be read
+   */
+  private Object order() {
+    if (ORDER_FIELD == null) {
+      return null;
+    }
+
+    try {
+      return ORDER_FIELD.get(handle);
+    } catch (ReflectiveOperationException exc) {
+      return null;
+    }
+  }
+
+  /**
+   * Tests if the selector has no sort order, meaning entities are returned
+   * in the order they're found, and a limited selector stops searching once
+   * it reaches its limit.
+   * <p>
+   * Returns {@code false} if the order can't be determined
+   */
+  boolean isArbitraryOrder() {
+    return order() == EntitySelectorParser.ORDER_ARBITRARY;
+  }
+
+  /**
+   * Tests if the selector returns the nearest entities first, eg: {@code @n}
+   * or {@code sort=nearest}.
+   * <p>
+   * Returns {@code false} if the order can't be determined
+   */
+  boolean isNearestOrder() {
+    return order() == EntitySelectorParser.ORDER_NEAREST;
+  }
+
+  /**
+   * Tests if the selector's results are shuffled, eg: {@code @r} or
+   * {@code sort=random}.
+   * <p>
+   * Returns {@code true} if the order can't be determined
+   */
+  boolean isRandomOrder() {
+    Object order = order();
+    return order == null || order == EntitySelectorParser.ORDER_RANDOM;
+  }
+
+  synchronized EntitySelector firstHandle() {
+    return limitedHandle(1);
+  }
+
+  /**
+   * Gets a copy of the selector limited to, at most, {@code limit} results
+   *
+   * @param limit Result limit
+   * @return Limited selector, or the selector itself, if its limit is already
+   *         at most {@code limit}
+   */
+  synchronized EntitySelector limitedHandle(int limit) {
+    if (handle.getMaxResults() <= limit) {
+      return handle;
+    }
+
+    return limitedHandles.computeIfAbsent(limit, l -> {
+      // The limit is applied by the vanilla selector itself, which stops
+      // collecting entities once the limit is reached, or in the case of
+      // sorted selectors, after sorting
+      parser.setMaxResults(l);
+      EntitySelector limited = parser.getSelector();
+      parser.setMaxResults(handle.getMaxResults());
+
+      return limited;
+    });
+  }
+
+  synchronized NearestEntitySearch nearestSearch() {
+    if (!nearestSearchCreated) {
+      nearestSearch = NearestEntitySearch.create(handle, parser, isNearestOrder());
+      nearestSearchCreated = true;
+    }
+
+    return nearestSearch;
+  }
+}
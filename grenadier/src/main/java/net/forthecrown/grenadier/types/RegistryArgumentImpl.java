@@ -8,8 +8,9 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import lombok.AccessLevel;
 import lombok.Getter;
-import net.forthecrown.grenadier.Completions;
+import net.forthecrown.grenadier.internal.RegistryKeyIndex;
 import net.forthecrown.grenadier.internal.VanillaMappedArgument;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.arguments.ResourceLocationArgument;
@@ -25,11 +26,15 @@ class RegistryArgumentImpl<T extends Keyed>
   private final UnknownFactory exceptionFactory;
   private final Registry<T> registry;
 
+  @Getter(AccessLevel.NONE)
+  private final RegistryKeyIndex index;
+
   public RegistryArgumentImpl(Registry<T> registry,
                               UnknownFactory exceptionFactory
   ) {
     this.exceptionFactory = Objects.requireNonNull(exceptionFactory);
     this.registry = Objects.requireNonNull(registry);
+    this.index = new RegistryKeyIndex(registry);
   }
 
   @Override
@@ -52,7 +57,7 @@ class RegistryArgumentImpl<T extends Keyed>
       CommandContext<S> context,
       SuggestionsBuilder builder
   ) {
-    return Completions.suggestKeyed(builder, registry);
+    return index.suggest(builder);
   }
 
   @Override
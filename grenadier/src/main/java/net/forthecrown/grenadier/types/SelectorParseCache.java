@@ -0,0 +1,149 @@
+package net.forthecrown.grenadier.types;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.minecraft.commands.arguments.selector.EntitySelectorParser;
+
+/**
+ * Cache of parsed entity selectors, keyed by selector text and permission
+ * override.
+ * <p>
+ * Every command input is parsed at least twice, once while suggesting and
+ * once more when executed, and command blocks and functions parse the same
+ * selectors over and over. Parsed vanilla selectors are immutable, so a
+ * selector only has to be parsed once.
+ * <p>
+ * Before parsing, the selector's extent is found with a quick scan of the
+ * input, which is used as the cache key. A parsed selector is only cached
+ * if the parser consumed exactly the scanned text.
+ */
+class SelectorParseCache {
+  private SelectorParseCache() {}
+
+  /** Max amount of cached selectors */
+  static final int MAX_SIZE = 512;
+
+  private static final Map<Key, ParsedSelector> CACHE
+      = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ParsedSelector> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+
+  static ParsedSelector parse(StringReader reader, boolean overridePermissions)
+      throws CommandSyntaxException
+  {
+    final int start = reader.getCursor();
+    final String input = reader.getString();
+    final int end = scanEnd(input, start);
+
+    Key key = null;
+
+    if (end > start) {
+      key = new Key(input.substring(start, end), overridePermissions);
+      ParsedSelector cached;
+
+      synchronized (CACHE) {
+        cached = CACHE.get(key);
+      }
+
+      if (cached != null) {
+        reader.setCursor(end);
+        return cached;
+      }
+    }
+
+    EntitySelectorParser parser = new EntitySelectorParser(reader, true);
+    var handle = parser.parse(overridePermissions);
+
+    String text = input.substring(start, reader.getCursor());
+    ParsedSelector parsed = new ParsedSelector(handle, parser, text);
+
+    if (key != null && reader.getCursor() == end) {
+      synchronized (CACHE) {
+        CACHE.put(key, parsed);
+      }
+    }
+
+    return parsed;
+  }
+
+  /**
+   * Finds where a selector starting at the specified index ends.
+   *
+   * @param input Input string
+   * @param start Selector start index
+   *
+   * @return The selector's end index, or {@code start}, if the selector's
+   *         extent couldn't be determined
+   */
+  static int scanEnd(String input, int start) {
+    final int length = input.length();
+
+    if (start >= length) {
+      return start;
+    }
+
+    if (input.charAt(start) != '@') {
+      // Player name or UUID
+      int i = start;
+
+      while (i < length && StringReader.isAllowedInUnquotedString(input.charAt(i))) {
+        i++;
+      }
+
+      return i;
+    }
+
+    // '@' + selector type
+    int i = start + 2;
+
+    if (i > length) {
+      return start;
+    }
+
+    if (i == length || input.charAt(i) != '[') {
+      return i;
+    }
+
+    int depth = 0;
+    char quote = 0;
+
+    for (; i < length; i++) {
+      char c = input.charAt(i);
+
+      if (quote != 0) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+
+        continue;
+      }
+
+      switch (c) {
+        case '"', '\'' -> quote = c;
+        case '[', '{' -> depth++;
+        case ']', '}' -> {
+          depth--;
+
+          if (depth == 0) {
+            return i + 1;
+          }
+        }
+        default -> {}
+      }
+    }
+
+    // Unclosed options
+    return start;
+  }
+
+  private record Key(String text, boolean overridePermissions) {
+
+  }
+}
@@ -8,10 +8,9 @@ import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.OptionalDouble;
 import java.util.concurrent.CompletableFuture;
-import net.forthecrown.grenadier.Completions;
 import net.forthecrown.grenadier.Readers;
+import net.forthecrown.grenadier.SuggestionIndex;
 
 class SuffixedNumberArgumentImpl<N extends Number>
     implements SuffixedNumberArgument<N>
@@ -20,6 +19,10 @@ class SuffixedNumberArgumentImpl<N extends Number>
   private final Map<String, N> suffixes;
   private final NumberType<N> type;
 
+  private final ClosedSetMatcher<N> suffixMatcher;
+  private final SuggestionIndex initialSuggestions;
+  private final SuggestionIndex suffixSuggestions;
+
   private final N min;
   private final N max;
 
@@ -31,6 +34,12 @@ class SuffixedNumberArgumentImpl<N extends Number>
   ) {
     this.suffixes = new HashMap<>(suffixes);
     this.type = type;
+
+    this.suffixMatcher = ClosedSetMatcher.of(this.suffixes, true);
+    this.suffixSuggestions = SuggestionIndex.of(this.suffixes.keySet());
+    this.initialSuggestions = SuggestionIndex.of(
+        this.suffixes.keySet().stream().map(string -> "10" + string).toList()
+    );
     this.min = min;
     this.max = max;
   }
@@ -140,25 +149,17 @@ class SuffixedNumberArgumentImpl<N extends Number>
 
     @Override
     protected void suggestInitial(SuggestionsBuilder builder) {
-      Completions.suggest(builder,
-          suffixes.keySet()
-              .stream()
-              .map(string -> "10" + string)
-      );
+      initialSuggestions.addSuggestions(builder, Integer.MAX_VALUE);
     }
 
     @Override
     protected void suggestUnits(SuggestionsBuilder builder) {
-      Completions.suggest(builder, suffixes.keySet());
+      suffixSuggestions.addSuggestions(builder, Integer.MAX_VALUE);
     }
 
     @Override
-    protected OptionalDouble getMultiplier(String unitName) {
-      N value = suffixes.get(unitName);
-      if (value == null) {
-        return OptionalDouble.empty();
-      }
-      return OptionalDouble.of(value.doubleValue());
+    protected ClosedSetMatcher<? extends Number> getUnits() {
+      return suffixMatcher;
     }
   }
 }
\ No newline at end of file
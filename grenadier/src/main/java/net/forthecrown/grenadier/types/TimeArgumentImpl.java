@@ -9,10 +9,11 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import java.time.Duration;
 import java.util.List;
-import java.util.OptionalDouble;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import net.forthecrown.grenadier.Completions;
+import java.util.stream.Collectors;
 import net.forthecrown.grenadier.Readers;
+import net.forthecrown.grenadier.SuggestionIndex;
 import net.forthecrown.grenadier.internal.VanillaMappedArgument;
 import net.minecraft.commands.CommandBuildContext;
 
@@ -20,6 +21,28 @@ class TimeArgumentImpl implements TimeArgument, VanillaMappedArgument {
 
   private static final List<String> SUGGESTIONS = List.of("t", "s", "m", "h", "d", "w", "mo", "yr");
 
+  private static final SuggestionIndex INITIAL_SUGGESTIONS
+      = SuggestionIndex.of(SUGGESTIONS.stream().map(s -> "10" + s).toList());
+
+  private static final SuggestionIndex UNIT_SUGGESTIONS
+      = SuggestionIndex.of(SUGGESTIONS);
+
+  /** All unit strings, suggested once the input is 3 or more characters long */
+  private static final SuggestionIndex UNIT_STRINGS
+      = SuggestionIndex.of(Unit.LOOKUP.keySet());
+
+  /** Unit strings that are at most 2 characters long */
+  private static final SuggestionIndex SHORT_UNIT_STRINGS = SuggestionIndex.of(
+      Unit.LOOKUP.keySet().stream().filter(s -> s.length() <= 2).toList()
+  );
+
+  /** Unit strings mapped to the unit's length in milliseconds */
+  private static final ClosedSetMatcher<Long> UNITS = ClosedSetMatcher.of(
+      Unit.LOOKUP.entrySet().stream()
+          .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getMillis())),
+      true
+  );
+
   private static final long MILLIS_IN_NANOS = 1000000L;
 
   static final TimeArgument INSTANCE = new TimeArgumentImpl();
@@ -55,44 +78,28 @@ class TimeArgumentImpl implements TimeArgument, VanillaMappedArgument {
 
     @Override
     protected void suggestInitial(SuggestionsBuilder builder) {
-      Completions.suggest(builder, SUGGESTIONS.stream().map(s -> "10" + s));
+      INITIAL_SUGGESTIONS.addSuggestions(builder, Integer.MAX_VALUE);
     }
 
     @Override
     protected void suggestUnits(SuggestionsBuilder builder) {
       String token = builder.getRemainingLowerCase();
+      SuggestionIndex index;
 
       if (token.isEmpty()) {
-        Completions.suggest(builder, SUGGESTIONS);
-        return;
+        index = UNIT_SUGGESTIONS;
+      } else if (token.length() < 3) {
+        index = SHORT_UNIT_STRINGS;
+      } else {
+        index = UNIT_STRINGS;
       }
 
-      int tokenLen = token.length();
-
-      for (Unit value : Unit.values()) {
-        for (String string : value.getStrings()) {
-          if (!Completions.matches(token, string)) {
-            continue;
-          }
-
-          if (string.length() > 2 && tokenLen < 3) {
-            continue;
-          }
-
-          builder.suggest(string);
-        }
-      }
+      index.addSuggestions(builder, Integer.MAX_VALUE);
     }
 
     @Override
-    protected OptionalDouble getMultiplier(String unitName) {
-      Unit unit = Unit.LOOKUP.get(unitName);
-
-      if (unit == null) {
-        return OptionalDouble.empty();
-      }
-
-      return OptionalDouble.of(unit.getMillis());
+    protected ClosedSetMatcher<? extends Number> getUnits() {
+      return UNITS;
     }
   }
 }
\ No newline at end of file
@@ -6,7 +6,6 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import it.unimi.dsi.fastutil.chars.CharList;
-import java.util.OptionalDouble;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import net.forthecrown.grenadier.Completions;
@@ -33,7 +32,11 @@ abstract class UnitParser<S> implements Suggester<S> {
   protected abstract void suggestInitial(SuggestionsBuilder builder);
   protected abstract void suggestUnits(SuggestionsBuilder builder);
 
-  protected abstract OptionalDouble getMultiplier(String unitName);
+  /**
+   * Gets the units this parser accepts, mapped to their multipliers
+   * @return Unit matcher
+   */
+  protected abstract ClosedSetMatcher<? extends Number> getUnits();
 
   void setSuggestions(Consumer<SuggestionsBuilder>... consumer) {
     setSuggestions(reader.getCursor(), consumer);
@@ -60,17 +63,17 @@ abstract class UnitParser<S> implements Suggester<S> {
     setSuggestions(this::suggestUnits, JOINER);
 
     if (reader.canRead() && isIdentifier(reader.peek())) {
-      int start = reader.getCursor();
+      Number unit = getUnits().read(reader, UnitParser::isIdentifier);
 
-      String unitName = readIdentifier();
-      OptionalDouble unit = getMultiplier(unitName.toLowerCase());
-
-      if (unit.isEmpty()) {
+      if (unit == null) {
+        int start = reader.getCursor();
+        String unitName = readIdentifier();
         reader.setCursor(start);
+
         throw Grenadier.exceptions().invalidTimeUnit(unitName, reader);
       }
 
-      value *= unit.getAsDouble();
+      value *= unit.doubleValue();
       setSuggestions(JOINER);
     }
 
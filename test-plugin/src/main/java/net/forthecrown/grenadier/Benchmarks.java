@@ -0,0 +1,67 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * Timing loop shared by the benchmark commands
+ */
+final class Benchmarks {
+
+  /**
+   * Every operation's result is written here. The JIT can't drop a volatile
+   * write, so it can't drop the operation that computed the written value
+   * either.
+   */
+  private static volatile Object sink;
+
+  private Benchmarks() {}
+
+  /**
+   * Runs an operation {@code warmup} times, then times {@code iterations}
+   * more runs of it
+   *
+   * @param warmup Untimed runs, so the operation is compiled before timing
+   * @param iterations Timed runs
+   * @param operation Operation to measure
+   *
+   * @return Nanoseconds taken by the timed runs
+   * @throws CommandSyntaxException If the operation failed
+   */
+  static long measure(int warmup, int iterations, Operation operation)
+      throws CommandSyntaxException
+  {
+    for (int i = 0; i < warmup; i++) {
+      sink = operation.run(i);
+    }
+
+    long start = System.nanoTime();
+
+    for (int i = 0; i < iterations; i++) {
+      sink = operation.run(i);
+    }
+
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Formats the average time of a run
+   *
+   * @param nanos Total time, as returned by {@link #measure(int, int, Operation)}
+   * @param iterations Timed runs
+   * @param unit What a run is, eg: {@code "op"}
+   *
+   * @return Formatted time, eg: {@code "120ns/op"}
+   */
+  static String perRun(long nanos, int iterations, String unit) {
+    return (nanos / iterations) + "ns/" + unit;
+  }
+
+  interface Operation {
+    /**
+     * Runs the operation once
+     * @param iteration Run index, starting from 0 for both warmup and timed runs
+     * @return Operation's result, kept alive by the harness
+     */
+    Object run(int iteration) throws CommandSyntaxException;
+  }
+}
@@ -0,0 +1,94 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import net.forthecrown.grenadier.types.ArgumentTypes;
+import net.forthecrown.grenadier.types.GameModeArgument;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+
+/**
+ * Compares enum and gamemode argument parsing against a substring and map
+ * lookup, eg: {@code /closed_set_bench 100000}
+ */
+public class ClosedSetBenchmark extends AbstractCommand {
+
+  private static final int WARMUP = 10_000;
+
+  private static final String[] MATERIALS = {
+      "stone", "DIAMOND_SWORD", "oak_log", "netherite_chestplate", "Red_Wool"
+  };
+
+  private static final String[] GAME_MODES = {
+      "survival", "creative", "adventure", "spectator", "s", "c", "0", "3"
+  };
+
+  public ClosedSetBenchmark() {
+    super("closed_set_bench");
+    register();
+  }
+
+  @Override
+  public void createCommand(GrenadierCommand command) {
+    command
+        .then(argument("iterations", IntegerArgumentType.integer(1))
+            .executes(c -> {
+              int iterations = c.getArgument("iterations", Integer.class);
+              CommandSource source = c.getSource();
+
+              Map<String, Material> materials = new HashMap<>();
+              for (Material material : Material.values()) {
+                materials.put(material.name().toLowerCase(), material);
+              }
+
+              long mapEnum = measure(iterations, MATERIALS, reader -> {
+                return materials.get(reader.readUnquotedString().toLowerCase());
+              });
+
+              ArgumentType<Material> enumType = ArgumentTypes.enumType(Material.class);
+              long matchedEnum = measure(iterations, MATERIALS, enumType::parse);
+
+              long mapGameMode = measure(iterations, GAME_MODES, reader -> {
+                return GameModeArgument.BY_LABEL.get(reader.readUnquotedString());
+              });
+
+              ArgumentType<GameMode> gameMode = ArgumentTypes.gameMode();
+              long matchedGameMode = measure(iterations, GAME_MODES, gameMode::parse);
+
+              source.sendMessage(
+                  "enum: map " + Benchmarks.perRun(mapEnum, iterations, "op")
+                      + ", grenadier " + Benchmarks.perRun(matchedEnum, iterations, "op")
+              );
+              source.sendMessage(
+                  "gamemode: map " + Benchmarks.perRun(mapGameMode, iterations, "op")
+                      + ", grenadier " + Benchmarks.perRun(matchedGameMode, iterations, "op")
+              );
+
+              return 0;
+            })
+        );
+  }
+
+  private static long measure(int iterations, String[] inputs, Parser parser)
+      throws CommandSyntaxException
+  {
+    StringReader[] readers = Arrays.stream(inputs)
+        .map(StringReader::new)
+        .toArray(StringReader[]::new);
+
+    return Benchmarks.measure(WARMUP, iterations, i -> {
+      StringReader reader = readers[i % readers.length];
+      reader.setCursor(0);
+      return parser.parse(reader);
+    });
+  }
+
+  private interface Parser {
+    Object parse(StringReader reader) throws CommandSyntaxException;
+  }
+}
@@ -41,6 +41,12 @@ public class CommandListTests extends AbstractCommand {
       "test_annotation double_suffix 2.43hundred+3.1ten",
       "test_alias_1",
       "test_alias_2",
+      "incremental_test 1000",
+      "selector_bench 10 @e[sort=nearest,limit=1]",
+      "selector_cache_test",
+      "closed_set_bench 1000",
+      "item_filter_bench 10 #leaves",
+      "item_filter_bench 10 stone[custom_data={a_tag:1b}]",
       "grenadier_test positions vec2d 12.32 34.1",
       "grenadier_test positions vec2i 12 31",
       "grenadier_test positions vec3d 12.423 12.32 423.1",
@@ -20,6 +20,11 @@ public class GrenadierTestPlugin extends JavaPlugin {
     new VanillaOverrideTest();
 
     new PluginOverrideTest();
+    new IncrementalCommandTest();
+    new SelectorBenchmark();
+    new ClosedSetBenchmark();
+    new ItemFilterBenchmark();
+    new SelectorCacheTest();
 
     try {
       new CustomTypeFailTest();
@@ -0,0 +1,50 @@
+package net.forthecrown.grenadier;
+
+import static net.kyori.adventure.text.Component.text;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.kyori.adventure.text.Component;
+
+public class IncrementalCommandTest extends AbstractCommand {
+
+  public IncrementalCommandTest() {
+    super("incremental_test");
+    register();
+  }
+
+  @Override
+  public void createCommand(GrenadierCommand command) {
+    command.then(argument("steps", IntegerArgumentType.integer(1))
+        .executes(incremental(c -> {
+          int steps = c.getArgument("steps", Integer.class);
+          return new CountingTask(steps);
+        }))
+    );
+  }
+
+  private static class CountingTask implements CommandTask {
+
+    private final int steps;
+    private int performed;
+
+    CountingTask(int steps) {
+      this.steps = steps;
+    }
+
+    @Override
+    public boolean step() {
+      performed++;
+      return performed < steps;
+    }
+
+    @Override
+    public Component progress() {
+      return text("Performed " + performed + "/" + steps + " steps");
+    }
+
+    @Override
+    public void onFinish(CommandSource source, boolean cancelled) {
+      source.sendMessage("Finished after " + performed + " steps, cancelled=" + cancelled);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Predicate;
+import net.forthecrown.grenadier.types.ArgumentTypes;
+import net.forthecrown.grenadier.types.ItemFilterArgument;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Compares copying every item and testing it with the vanilla item predicate
+ * against Grenadier's type-first item filters, by scanning a large
+ * container's worth of items,
+ * eg: {@code /item_filter_bench 100 #leaves}
+ */
+public class ItemFilterBenchmark extends AbstractCommand {
+
+  private static final int WARMUP = 100;
+
+  // Static final, so the JIT can inline calls through it
+  private static final MethodHandle AS_NMS_COPY = findAsNmsCopy();
+
+  /** Ten double chests */
+  private static final int CONTAINER_SIZE = 54 * 10;
+
+  public ItemFilterBenchmark() {
+    super("item_filter_bench");
+    register();
+  }
+
+  @Override
+  public void createCommand(GrenadierCommand command) {
+    command
+        .then(argument("iterations", IntegerArgumentType.integer(1))
+            .then(argument("filter", ArgumentTypes.itemFilter())
+                .executes(c -> {
+                  int iterations = c.getArgument("iterations", Integer.class);
+                  var filter = c.getArgument("filter", ItemFilterArgument.Result.class);
+                  CommandSource source = c.getSource();
+
+                  ItemStack[] container = createContainer();
+                  Predicate<ItemStack> vanilla = vanillaPredicate(filter);
+
+                  long vanillaTime = Benchmarks.measure(WARMUP, iterations,
+                      i -> scan(vanilla, container)
+                  );
+                  long grenadierTime = Benchmarks.measure(WARMUP, iterations,
+                      i -> scan(filter, container)
+                  );
+
+                  source.sendMessage(
+                      "vanilla: " + Benchmarks.perRun(vanillaTime, iterations, "scan")
+                          + ", grenadier: " + Benchmarks.perRun(grenadierTime, iterations, "scan")
+                  );
+
+                  return 0;
+                })
+            )
+        );
+  }
+
+  /**
+   * Creates the baseline: every item is copied with
+   * {@code CraftItemStack.asNMSCopy} and tested with the filter's vanilla
+   * item predicate, the way filters worked before type checks.
+   * <p>
+   * This plugin doesn't compile against the server, so both are looked up
+   * reflectively, once.
+   */
+  @SuppressWarnings("unchecked")
+  private static Predicate<ItemStack> vanillaPredicate(ItemFilterArgument.Result filter)
+      throws CommandSyntaxException
+  {
+    Predicate<Object> predicate;
+
+    try {
+      Field field = filter.getClass().getDeclaredField("result");
+      field.setAccessible(true);
+      predicate = (Predicate<Object>) field.get(filter);
+    } catch (ReflectiveOperationException exc) {
+      throw Grenadier.exceptions().create("Cannot access vanilla predicate: %s", exc);
+    }
+
+    return item -> {
+      try {
+        return predicate.test((Object) AS_NMS_COPY.invokeExact(item));
+      } catch (Throwable t) {
+        throw new IllegalStateException(t);
+      }
+    };
+  }
+
+  private static MethodHandle findAsNmsCopy() {
+    try {
+      Class<?> craftItemStack = Class.forName(
+          Bukkit.getServer().getClass().getPackageName() + ".inventory.CraftItemStack"
+      );
+
+      return MethodHandles.publicLookup()
+          .findStatic(
+              craftItemStack,
+              "asNMSCopy",
+              MethodType.methodType(
+                  Class.forName("net.minecraft.world.item.ItemStack"),
+                  ItemStack.class
+              )
+          )
+          .asType(MethodType.methodType(Object.class, ItemStack.class));
+    } catch (ReflectiveOperationException exc) {
+      throw new IllegalStateException("CraftItemStack.asNMSCopy not found", exc);
+    }
+  }
+
+  private static ItemStack[] createContainer() {
+    Material[] items = Arrays.stream(Material.values())
+        .filter(material -> !material.isLegacy())
+        .filter(Material::isItem)
+        .filter(material -> !material.isAir())
+        .toArray(Material[]::new);
+
+    // Fixed seed, so runs are comparable
+    Random random = new Random(0L);
+    ItemStack[] container = new ItemStack[CONTAINER_SIZE];
+
+    for (int i = 0; i < container.length; i++) {
+      Material material = items[random.nextInt(items.length)];
+      container[i] = new ItemStack(material, 1 + random.nextInt(material.getMaxStackSize()));
+    }
+
+    return container;
+  }
+
+  private static int scan(Predicate<ItemStack> filter, ItemStack[] container) {
+    int found = 0;
+
+    for (ItemStack item : container) {
+      if (filter.test(item)) {
+        found++;
+      }
+    }
+
+    return found;
+  }
+}
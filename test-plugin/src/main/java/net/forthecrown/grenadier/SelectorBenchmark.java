@@ -0,0 +1,66 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.forthecrown.grenadier.types.ArgumentTypes;
+import net.forthecrown.grenadier.types.EntitySelector;
+
+/**
+ * Compares vanilla selector evaluation against Grenadier's nearby search,
+ * eg: {@code /selector_bench 1000 @e[sort=nearest,limit=1]}
+ */
+public class SelectorBenchmark extends AbstractCommand {
+
+  private static final int WARMUP = 100;
+
+  public SelectorBenchmark() {
+    super("selector_bench");
+    register();
+  }
+
+  @Override
+  public void createCommand(GrenadierCommand command) {
+    command
+        .then(argument("iterations", IntegerArgumentType.integer(1))
+            .then(argument("selector", ArgumentTypes.entities())
+                .executes(c -> {
+                  int iterations = c.getArgument("iterations", Integer.class);
+                  var selector = c.getArgument("selector", EntitySelector.class);
+                  CommandSource source = c.getSource();
+
+                  GrenadierSettings settings = Grenadier.settings();
+                  boolean nearest = settings.isNearestSelectorSearch();
+                  boolean caching = settings.isSelectorCaching();
+
+                  settings.setSelectorCaching(false);
+
+                  try {
+                    settings.setNearestSelectorSearch(false);
+                    long vanilla = measure(selector, source, iterations);
+
+                    settings.setNearestSelectorSearch(true);
+                    long grenadier = measure(selector, source, iterations);
+
+                    source.sendMessage(
+                        "vanilla: " + Benchmarks.perRun(vanilla, iterations, "op")
+                            + ", grenadier: " + Benchmarks.perRun(grenadier, iterations, "op")
+                    );
+                  } finally {
+                    settings.setNearestSelectorSearch(nearest);
+                    settings.setSelectorCaching(caching);
+                  }
+
+                  return 0;
+                })
+            )
+        );
+  }
+
+  private static long measure(
+      EntitySelector selector,
+      CommandSource source,
+      int iterations
+  ) throws CommandSyntaxException {
+    return Benchmarks.measure(WARMUP, iterations, i -> selector.findEntities(source));
+  }
+}
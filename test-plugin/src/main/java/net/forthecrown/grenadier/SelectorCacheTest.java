@@ -0,0 +1,68 @@
+package net.forthecrown.grenadier;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.forthecrown.grenadier.types.ArgumentTypes;
+import net.forthecrown.grenadier.types.EntitySelector;
+
+/**
+ * Tests that resolving the same selector twice in a tick hits the selector
+ * cache, and that random selectors are never cached,
+ * eg: {@code /selector_cache_test}
+ */
+public class SelectorCacheTest extends AbstractCommand {
+
+  public SelectorCacheTest() {
+    super("selector_cache_test");
+    register();
+  }
+
+  @Override
+  public void createCommand(GrenadierCommand command) {
+    command.executes(c -> {
+      CommandSource source = c.getSource();
+
+      GrenadierSettings settings = Grenadier.settings();
+      boolean caching = settings.isSelectorCaching();
+
+      settings.setSelectorCaching(true);
+
+      try {
+        // Both resolutions run in this command, so during the same tick
+        long tagged = countHits(source, "@a[tag=x]");
+        long random = countHits(source, "@e[sort = random]");
+
+        if (tagged != 1) {
+          throw Grenadier.exceptions().create(
+              "Expected 1 cache hit for @a[tag=x], got %s", tagged
+          );
+        }
+
+        if (random != 0) {
+          throw Grenadier.exceptions().create(
+              "Expected no cache hits for @e[sort = random], got %s", random
+          );
+        }
+
+        source.sendMessage("Selector cache test passed");
+      } finally {
+        settings.setSelectorCaching(caching);
+      }
+
+      return 0;
+    });
+  }
+
+  private static long countHits(CommandSource source, String input)
+      throws CommandSyntaxException
+  {
+    EntitySelector selector = ArgumentTypes.entities().parse(new StringReader(input));
+    GrenadierMetrics metrics = Grenadier.metrics();
+
+    long before = metrics.getSelectorCacheHits();
+    selector.findEntities(source);
+    selector.findEntities(source);
+
+    return metrics.getSelectorCacheHits() - before;
+  }
+}